@@ -1,22 +1,32 @@
 package com.epam.rd.autocode.spring.project.conf;
 
-import org.modelmapper.ModelMapper;
-import org.modelmapper.convention.MatchingStrategies;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
+import com.epam.rd.autocode.spring.project.mapper.ClientMapper;
+import com.epam.rd.autocode.spring.project.mapper.EmployeeMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.modelmapper.config.Configuration.*;
+
+import java.time.Clock;
 
 @Configuration
 public class BaseConfig{
     @Bean
-    public ModelMapper modelMapper(){
-       ModelMapper mapper = new ModelMapper();
+    public BookMapper bookMapper(){
+        return new BookMapper();
+    }
+
+    @Bean
+    public ClientMapper clientMapper(){
+        return new ClientMapper();
+    }
 
-        mapper.getConfiguration()
-                .setMatchingStrategy(MatchingStrategies.STRICT)
-                .setFieldMatchingEnabled(true)
-                .setSkipNullEnabled(true)
-                .setFieldAccessLevel(AccessLevel.PRIVATE);
-        return mapper;
+    @Bean
+    public EmployeeMapper employeeMapper(){
+        return new EmployeeMapper();
+    }
+
+    @Bean
+    public Clock clock(){
+        return Clock.systemDefaultZone();
     }
 }
@@ -52,6 +52,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/", "/login", "/registration", "/error").permitAll()
                         .requestMatchers("/css/**", "/js/**", "/images/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/covers/**").permitAll()
 
 
                         .requestMatchers(HttpMethod.GET, "/books/**").permitAll()
@@ -60,7 +61,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/clients").permitAll()
 
                         .requestMatchers("/orders/manage/**").hasRole("EMPLOYEE")
-                        .requestMatchers("/books/manage/**", "/books/add/**", "/books/edit/**", "/books/delete/**").hasRole("EMPLOYEE")
+                        .requestMatchers("/books/manage/**", "/books/add/**", "/books/edit/**", "/books/delete/**", "/books/import/**").hasRole("EMPLOYEE")
                         .requestMatchers("/clients/**").hasRole("EMPLOYEE")
                         .requestMatchers("/employees/**").hasRole("EMPLOYEE")
 
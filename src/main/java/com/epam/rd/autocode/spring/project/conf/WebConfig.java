@@ -1,7 +1,9 @@
 package com.epam.rd.autocode.spring.project.conf;
 
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -34,6 +36,13 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(localeChangeInterceptor());
     }
 
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, BookSortField.class, value -> value.isEmpty() ? null
+                : BookSortField.fromParam(value)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + value)));
+    }
+
     @Bean
     public MessageSource messageSource() {
         ReloadableResourceBundleMessageSource ms =
@@ -0,0 +1,97 @@
+package com.epam.rd.autocode.spring.project.controller;
+
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+public class BookCardRenderer {
+
+    private static final String TEMPLATE = "fragments/bookCard";
+    private static final Set<String> SELECTORS = Set.of("card");
+
+    enum RoleBucket { ANONYMOUS, CUSTOMER, EMPLOYEE, AUTHENTICATED }
+
+    record CardKey(long bookId, long version, Locale locale, RoleBucket role) {
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final Cache<CardKey, String> cards;
+
+    public BookCardRenderer(ITemplateEngine templateEngine,
+                            CatalogVersionTracker catalogVersionTracker,
+                            @Value("${bookstore.card-cache.max-bytes:16777216}") long maxBytes) {
+        this.templateEngine = templateEngine;
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.cards = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((CardKey key, String html) -> html.length() * 2)
+                .build();
+    }
+
+    public List<String> render(List<BookCardDTO> books, long catalogVersionAtLoad, Locale locale,
+                               HttpServletRequest request, HttpServletResponse response) {
+        RoleBucket role = currentRole();
+        WebContext context = null;
+        List<String> rendered = new ArrayList<>(books.size());
+        for (BookCardDTO book : books) {
+            CardKey key = new CardKey(book.getId(), catalogVersionTracker.getBookVersion(book.getId()), locale, role);
+            String html = cards.getIfPresent(key);
+            if (html == null) {
+                if (context == null) {
+                    context = new WebContext(JakartaServletWebApplication.buildApplication(request.getServletContext())
+                            .buildExchange(request, response), locale);
+                }
+                context.setVariable("book", book);
+                html = templateEngine.process(TEMPLATE, SELECTORS, context);
+                if (catalogVersionTracker.getCatalogVersion() == catalogVersionAtLoad) {
+                    cards.put(key, html);
+                }
+            }
+            rendered.add(html);
+        }
+        return rendered;
+    }
+
+    long size() {
+        cards.cleanUp();
+        return cards.estimatedSize();
+    }
+
+    private RoleBucket currentRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return RoleBucket.ANONYMOUS;
+        }
+        Set<String> authorities = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        if (authorities.contains("ROLE_EMPLOYEE")) {
+            return RoleBucket.EMPLOYEE;
+        }
+        if (authorities.contains("ROLE_CUSTOMER")) {
+            return RoleBucket.CUSTOMER;
+        }
+        return RoleBucket.AUTHENTICATED;
+    }
+}
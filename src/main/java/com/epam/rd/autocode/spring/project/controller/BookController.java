@@ -1,23 +1,51 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.dto.BestsellerDTO;
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.CursorPage;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.dto.ImportJobDTO;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import com.epam.rd.autocode.spring.project.model.enums.ExportFormat;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import com.epam.rd.autocode.spring.project.service.BestsellerService;
+import com.epam.rd.autocode.spring.project.service.BookExportService;
+import com.epam.rd.autocode.spring.project.service.BookImportService;
 import com.epam.rd.autocode.spring.project.service.BookService;
+import com.epam.rd.autocode.spring.project.service.CoverStorageService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.math.BigDecimal;
+import java.security.Principal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 
 @Controller
@@ -25,47 +53,139 @@ import java.util.List;
 @RequiredArgsConstructor
 public class BookController {
 
+    private static final String KEYSET_MODE = "keyset";
+    private static final int MAX_SUGGESTIONS = 10;
+
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final BookExportService bookExportService;
+    private final CoverStorageService coverStorageService;
+    private final BookCardRenderer bookCardRenderer;
+    private final BestsellerService bestsellerService;
+
+    @Value("${bookstore.export.timeout:30m}")
+    private Duration exportTimeout;
 
     @GetMapping
     public String getAllBooks(Model model,
                               @RequestParam(defaultValue = "0") int page,
                               @RequestParam(defaultValue = "6") int size,
-                              @RequestParam(defaultValue = "name") String sortField,
+                              @RequestParam(required = false) BookSortField sortField,
                               @RequestParam(defaultValue = "asc") String sortDir,
                               @RequestParam(required = false) String keyword,
-                              @RequestParam(required = false) String genre) {
+                              @RequestParam(required = false) String genre,
+                              @RequestParam(required = false) Language language,
+                              @RequestParam(required = false) AgeGroup ageGroup,
+                              @RequestParam(required = false) PriceBand priceBand,
+                              @RequestParam(defaultValue = "false") boolean inStock,
+                              @RequestParam(required = false) BigDecimal minPrice,
+                              @RequestParam(required = false) BigDecimal maxPrice,
+                              @RequestParam(defaultValue = "offset") String mode,
+                              @RequestParam(required = false) String cursor,
+                              ServletWebRequest webRequest,
+                              Principal principal,
+                              Locale locale) {
+        long catalogVersion = bookService.getCatalogVersion();
+        if (isNotModified(webRequest, principal, locale, "catalog-" + catalogVersion)) {
+            return null;
+        }
+
+        BookFilter filter = new BookFilter(keyword, genre, language, ageGroup, priceBand, inStock, minPrice, maxPrice);
+        Sort.Direction direction = sortDir.equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        boolean byRelevance = sortField == null && filter.hasKeyword();
+        if (sortField == null) {
+            sortField = BookSortField.NAME;
+        }
+        boolean keysetSupported = filter.isGenreOnly() || !(filter.hasKeyword() || filter.hasFacets());
+        if (KEYSET_MODE.equals(mode) && sortField.isKeyset() && keysetSupported) {
+            CursorPage<BookCardDTO> cursorPage = bookService.getBooksByCursor(genre, sortField, direction, cursor, size);
 
-        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortField).ascending() : Sort.by(sortField).descending();
+            model.addAttribute("books", cursorPage.getContent());
+            model.addAttribute("cards", renderCards(cursorPage.getContent(), catalogVersion, locale, webRequest));
+            model.addAttribute("genres", bookService.getGenreFacets());
+            model.addAttribute("languages", Language.values());
+            model.addAttribute("ageGroups", AgeGroup.values());
+            model.addAttribute("priceBands", PriceBand.values());
+            model.addAttribute("keyset", true);
+            model.addAttribute("previousCursor", cursorPage.getPreviousCursor());
+            model.addAttribute("nextCursor", cursorPage.getNextCursor());
+            model.addAttribute("size", size);
+            model.addAttribute("sortField", sortField.getParam());
+            model.addAttribute("sortDir", sortDir);
+            model.addAttribute("selectedGenre", genre);
+            model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
+            return "books";
+        }
+
+        Sort sort = byRelevance ? Sort.unsorted()
+                : Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
         Pageable pageable = PageRequest.of(page, size, sort);
 
 
-        Page<BookDTO> bookPage = bookService.getAllBooks(keyword, genre, pageable);
+        Page<BookCardDTO> bookPage = bookService.getAllBooks(filter, pageable);
+
 
+        List<GenreFacetDTO> genres = bookService.getGenreFacets();
 
-        List<String> genres = bookService.getAllGenres();
+        if (bookPage.getTotalElements() == 0) {
+            bookService.getSpellingCorrection(filter)
+                    .ifPresent(corrected -> model.addAttribute("didYouMean", corrected));
+        }
 
 
         model.addAttribute("books", bookPage.getContent());
+        model.addAttribute("cards", renderCards(bookPage.getContent(), catalogVersion, locale, webRequest));
         model.addAttribute("genres", genres);
+        model.addAttribute("facets", bookService.getFacetCounts(filter));
+        model.addAttribute("priceHistogram", bookService.getPriceHistogram());
+        model.addAttribute("languages", Language.values());
+        model.addAttribute("ageGroups", AgeGroup.values());
+        model.addAttribute("priceBands", PriceBand.values());
         model.addAttribute("currentPage", page);
         model.addAttribute("totalPages", bookPage.getTotalPages());
         model.addAttribute("totalItems", bookPage.getTotalElements());
 
 
-        model.addAttribute("sortField", sortField);
+        model.addAttribute("sortField", byRelevance ? null : sortField.getParam());
         model.addAttribute("sortDir", sortDir);
         model.addAttribute("keyword", keyword);
         model.addAttribute("selectedGenre", genre);
+        model.addAttribute("selectedLanguage", language);
+        model.addAttribute("selectedAgeGroup", ageGroup);
+        model.addAttribute("selectedPriceBand", priceBand);
+        model.addAttribute("selectedMinPrice", minPrice);
+        model.addAttribute("selectedMaxPrice", maxPrice);
+        model.addAttribute("inStock", inStock);
         model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
 
         return "books";
     }
 
-    @GetMapping("/{name}")
-    public String getBookDetails(@PathVariable String name, Model model) {
-        BookDTO book = bookService.getBookByName(name);
+    @GetMapping("/suggest")
+    @ResponseBody
+    public List<String> suggest(@RequestParam("q") String query,
+                                @RequestParam(defaultValue = "8") int limit) {
+        return bookService.getSuggestions(query, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    @GetMapping("/bestsellers")
+    @ResponseBody
+    public List<BestsellerDTO> bestsellers(@RequestParam(defaultValue = "LAST_7_DAYS") BestsellerWindow window,
+                                           @RequestParam(required = false) String genre,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bestsellerService.getBestsellers(window, genre, limit);
+    }
+
+    @GetMapping("/{slug}")
+    public String getBookDetails(@PathVariable String slug, Model model, ServletWebRequest webRequest,
+                                 Principal principal, Locale locale) {
+        Optional<Long> version = bookService.getBookVersion(slug);
+        if (version.isPresent() && isNotModified(webRequest, principal, locale, "book-" + slug + "-" + version.get())) {
+            return null;
+        }
+        BookDTO book = bookService.getBookBySlug(slug);
         model.addAttribute("book", book);
+        model.addAttribute("boughtTogether", bookService.getFrequentlyBoughtTogether(book.getId()));
         return "book-details";
     }
 
@@ -100,6 +220,24 @@ public class BookController {
         }
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @ResponseBody
+    public ResponseEntity<ImportJobDTO> importBooks(@RequestParam("file") MultipartFile file) {
+        try {
+            return ResponseEntity.accepted().body(bookImportService.startImport(file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/import/{id}")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @ResponseBody
+    public ImportJobDTO getImport(@PathVariable String id) {
+        return bookImportService.getImport(id);
+    }
+
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('EMPLOYEE')")
     public String showEditBookForm(@PathVariable Long id, Model model) {
@@ -133,6 +271,17 @@ public class BookController {
         }
     }
 
+    @PostMapping("/edit/{id}/cover")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public String uploadCover(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        try {
+            bookService.updateCover(id, coverStorageService.storeCover(file));
+            return "redirect:/books/edit/" + id;
+        } catch (IllegalArgumentException e) {
+            return "redirect:/books/edit/" + id + "?coverError";
+        }
+    }
+
     @PostMapping("/delete/{name}")
     @PreAuthorize("hasRole('EMPLOYEE')")
     public String deleteBook(@PathVariable String name){
@@ -149,7 +298,7 @@ public class BookController {
 
         Pageable pageable = PageRequest.of(page, size);
 
-        Page<BookDTO> bookPage = bookService.getAllBooks(keyword, null, pageable);
+        Page<BookCardDTO> bookPage = bookService.getAllBooks(keyword, null, pageable);
 
         model.addAttribute("books", bookPage.getContent());
         model.addAttribute("currentPage", page);
@@ -159,4 +308,32 @@ public class BookController {
 
         return "employee-books";
     }
+
+    @GetMapping("/manage/export")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    @ResponseBody
+    public WebAsyncTask<Void> exportBooks(@RequestParam(defaultValue = "CSV") ExportFormat format,
+                                          HttpServletResponse response) {
+        String fileName = "catalog-" + LocalDate.now() + "." + format.getExtension();
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            bookExportService.exportCatalog(format, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+
+    private boolean isNotModified(ServletWebRequest webRequest, Principal principal, Locale locale, String tag) {
+        if (principal != null) {
+            return false;
+        }
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        return webRequest.checkNotModified("W/\"" + tag + "-" + locale.toLanguageTag() + "\"");
+    }
+
+    private List<String> renderCards(List<BookCardDTO> books, long catalogVersion, Locale locale,
+                                     ServletWebRequest webRequest) {
+        return bookCardRenderer.render(books, catalogVersion, locale, webRequest.getRequest(), webRequest.getResponse());
+    }
 }
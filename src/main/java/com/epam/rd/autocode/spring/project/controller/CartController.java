@@ -5,7 +5,6 @@ import com.epam.rd.autocode.spring.project.dto.ClientDTO;
 import com.epam.rd.autocode.spring.project.service.CartService;
 import com.epam.rd.autocode.spring.project.service.ClientService;
 import com.epam.rd.autocode.spring.project.service.OrderService;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -28,8 +27,8 @@ public class CartController {
     private final ClientService clientService;
 
     @GetMapping
-    public String viewCart(HttpSession session, Model model, Principal principal) {
-        List<CartItem> cart = cartService.getCart(session);
+    public String viewCart(Model model, Principal principal) {
+        List<CartItem> cart = cartService.getCart(principal.getName());
 
         BigDecimal total = cartService.calculateTotal(cart);
 
@@ -52,29 +51,24 @@ public class CartController {
 
     @PostMapping("/add")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public String addToCart(@RequestParam Long bookId, @RequestParam int quantity, HttpSession session) {
-        cartService.addItem(session, bookId, quantity);
+    public String addToCart(@RequestParam Long bookId, @RequestParam int quantity, Principal principal) {
+        cartService.addItem(principal.getName(), bookId, quantity);
         return "redirect:/books";
     }
 
     @PostMapping("/remove")
-    public String removeFromCart(@RequestParam Long bookId, HttpSession session) {
-        cartService.removeItem(session, bookId);
+    public String removeFromCart(@RequestParam Long bookId, Principal principal) {
+        cartService.removeItem(principal.getName(), bookId);
         return "redirect:/cart";
     }
 
     @PostMapping("/checkout")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public String checkout(HttpSession session) {
-        List<CartItem> cart = cartService.getCart(session);
-
-        if (cart.isEmpty()) {
-            return "redirect:/cart";
-        }
-
+    public String checkout(Principal principal) {
         try {
-            orderService.createOrderFromCart(cart);
-            cartService.clearCart(session);
+            if (!cartService.checkout(principal.getName(), orderService::createOrderFromCart)) {
+                return "redirect:/cart";
+            }
             return "redirect:/orders/my";
         } catch (Exception e) {
             return "redirect:/cart?error=" + e.getMessage();
@@ -82,8 +76,8 @@ public class CartController {
     }
 
     @PostMapping("/update")
-    public String updateCart(@RequestParam Long bookId, @RequestParam int quantity, HttpSession session) {
-        cartService.updateItemQuantity(session, bookId, quantity);
+    public String updateCart(@RequestParam Long bookId, @RequestParam int quantity, Principal principal) {
+        cartService.updateItemQuantity(principal.getName(), bookId, quantity);
         return "redirect:/cart";
     }
 }
@@ -0,0 +1,51 @@
+package com.epam.rd.autocode.spring.project.controller;
+
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.service.CoverStorageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Controller
+@RequestMapping("/covers")
+@RequiredArgsConstructor
+public class CoverController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+
+    private final CoverStorageService coverStorageService;
+
+    @GetMapping("/{fileName:.+}")
+    public ResponseEntity<Resource> getCover(@PathVariable String fileName) {
+        return serve(fileName, false);
+    }
+
+    @GetMapping("/thumbs/{fileName:.+}")
+    public ResponseEntity<Resource> getThumbnail(@PathVariable String fileName) {
+        return serve(fileName, true);
+    }
+
+    private ResponseEntity<Resource> serve(String fileName, boolean thumbnail) {
+        Path path = coverStorageService.resolve(fileName, thumbnail)
+                .orElseThrow(() -> new NotFoundException("Cover not found: " + fileName));
+
+        String hash = fileName.substring(0, fileName.indexOf('.'));
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .eTag("\"" + hash + (thumbnail ? "-thumb" : "") + "\"")
+                .contentType(fileName.endsWith(".png") ? MediaType.IMAGE_PNG : MediaType.IMAGE_JPEG)
+                .body(new FileSystemResource(path));
+    }
+}
@@ -1,6 +1,8 @@
 package com.epam.rd.autocode.spring.project.controller;
 
+import com.epam.rd.autocode.spring.project.dto.CacheStatisticsDTO;
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.service.CacheStatisticsService;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.security.Principal;
 
@@ -21,6 +24,7 @@ import java.security.Principal;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final CacheStatisticsService cacheStatisticsService;
 
     @GetMapping("/profile")
     public String myProfile(Model model, Principal principal) {
@@ -54,4 +58,10 @@ public class EmployeeController {
         return "redirect:/employees/profile?success";
     }
 
+    @GetMapping("/cache-stats")
+    @ResponseBody
+    public CacheStatisticsDTO cacheStatistics() {
+        return cacheStatisticsService.getStatistics();
+    }
+
 }
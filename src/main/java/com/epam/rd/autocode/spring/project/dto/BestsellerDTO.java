@@ -0,0 +1,16 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BestsellerDTO {
+    private Long bookId;
+    private String name;
+    private String author;
+    private String slug;
+    private long unitsSold;
+}
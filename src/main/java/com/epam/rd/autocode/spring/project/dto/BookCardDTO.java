@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookCardDTO {
+    private Long id;
+    private String name;
+    private String author;
+    private String genre;
+    private BigDecimal price;
+    private Integer quantity;
+    private String imageUrl;
+    private String slug;
+    private Integer salesCount;
+}
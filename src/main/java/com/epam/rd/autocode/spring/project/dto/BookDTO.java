@@ -48,4 +48,6 @@ public class BookDTO{
     @NotNull(message = "Quantity is required")
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
+
+    private String slug;
 }
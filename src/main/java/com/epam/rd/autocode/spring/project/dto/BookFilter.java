@@ -0,0 +1,59 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFilter {
+    private String keyword;
+    private String genre;
+    private Language language;
+    private AgeGroup ageGroup;
+    private PriceBand priceBand;
+    private boolean inStock;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    public BookFilter(String keyword, String genre) {
+        this.keyword = keyword;
+        this.genre = genre;
+    }
+
+    public BookFilter(String keyword, String genre, Language language, AgeGroup ageGroup, PriceBand priceBand,
+                      boolean inStock) {
+        this(keyword, genre, language, ageGroup, priceBand, inStock, null, null);
+    }
+
+    public boolean hasKeyword() {
+        return keyword != null && !keyword.isEmpty();
+    }
+
+    public boolean hasGenre() {
+        return genre != null && !genre.isEmpty();
+    }
+
+    public boolean hasPriceRange() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    public boolean hasFacets() {
+        return hasGenre() || language != null || ageGroup != null || priceBand != null || inStock || hasPriceRange();
+    }
+
+    public boolean isGenreOnly() {
+        return hasGenre() && !hasKeyword() && language == null && ageGroup == null && priceBand == null && !inStock
+                && !hasPriceRange();
+    }
+
+    public boolean isKeywordOnly() {
+        return hasKeyword() && !hasFacets();
+    }
+}
@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStockDTO {
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer quantity;
+    private String imageUrl;
+}
@@ -0,0 +1,4 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+public record CartLine(long bookId, int quantity) {
+}
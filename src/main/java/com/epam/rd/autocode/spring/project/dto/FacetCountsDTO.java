@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsDTO {
+    private long total;
+    private Map<String, Long> genres;
+    private Map<Language, Long> languages;
+    private Map<AgeGroup, Long> ageGroups;
+    private Map<PriceBand, Long> priceBands;
+    private long inStock;
+}
@@ -0,0 +1,27 @@
+package com.epam.rd.autocode.spring.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistogramDTO {
+    private BigDecimal min;
+    private BigDecimal max;
+    private long maxCount;
+    private List<Bar> bars;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bar {
+        private BigDecimal from;
+        private BigDecimal to;
+        private long count;
+    }
+}
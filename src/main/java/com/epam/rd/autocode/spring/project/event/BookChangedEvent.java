@@ -0,0 +1,18 @@
+package com.epam.rd.autocode.spring.project.event;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+
+public record BookChangedEvent(Long bookId, Book book) {
+
+    public static BookChangedEvent saved(Book book) {
+        return new BookChangedEvent(book.getId(), book);
+    }
+
+    public static BookChangedEvent deleted(Long bookId) {
+        return new BookChangedEvent(bookId, null);
+    }
+
+    public boolean isDeleted() {
+        return book == null;
+    }
+}
@@ -0,0 +1,4 @@
+package com.epam.rd.autocode.spring.project.event;
+
+public record OrderLine(Long bookId, String genre, int quantity) {
+}
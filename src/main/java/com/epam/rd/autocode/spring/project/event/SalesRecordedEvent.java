@@ -0,0 +1,7 @@
+package com.epam.rd.autocode.spring.project.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SalesRecordedEvent(Long orderId, LocalDateTime orderDate, List<OrderLine> lines, boolean reversal) {
+}
@@ -7,6 +7,7 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.ModelAndView;
 
 
@@ -23,6 +24,14 @@ public class GlobalExceptionHandler {
     }
 
 
+    // --- 400
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ModelAndView handleArgumentTypeMismatch(MethodArgumentTypeMismatchException e, HttpServletRequest request) {
+        return buildErrorPage(HttpStatus.BAD_REQUEST, "Bad Request", "Unsupported value for parameter: " + e.getName(), request);
+    }
+
+
     // --- 403
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
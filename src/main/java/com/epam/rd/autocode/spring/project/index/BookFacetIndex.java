@@ -0,0 +1,248 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.FacetCountsDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class BookFacetIndex implements CatalogIndex {
+
+    private record FacetDoc(long id, int ordinal, String genre, Language language, AgeGroup ageGroup, PriceBand priceBand,
+                            boolean inStock, String name, BigDecimal price, int quantity,
+                            LocalDate publicationDate, int salesCount) {
+    }
+
+    private enum Dimension { GENRE, LANGUAGE, AGE_GROUP, PRICE_BAND, IN_STOCK }
+
+    private static final Comparator<FacetDoc> BY_ID = Comparator.comparingLong(FacetDoc::id);
+
+    private final BookOrdinals bookOrdinals;
+    private final Map<Long, FacetDoc> docs = new HashMap<>();
+    private final Map<Integer, FacetDoc> docsByOrdinal = new HashMap<>();
+    private final BitSet all = new BitSet();
+    private final Map<String, BitSet> genres = new HashMap<>();
+    private final Map<Language, BitSet> languages = new EnumMap<>(Language.class);
+    private final Map<AgeGroup, BitSet> ageGroups = new EnumMap<>(AgeGroup.class);
+    private final Map<PriceBand, BitSet> priceBands = new EnumMap<>(PriceBand.class);
+    private final BitSet inStock = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docsByOrdinal.clear();
+            all.clear();
+            genres.clear();
+            languages.clear();
+            ageGroups.clear();
+            priceBands.clear();
+            inStock.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Book book) {
+        FacetDoc doc = new FacetDoc(book.getId(), bookOrdinals.assign(book.getId()), book.getGenre(), book.getLanguage(), book.getAgeGroup(),
+                book.getPrice() != null ? PriceBand.of(book.getPrice()) : null,
+                book.getQuantity() != null && book.getQuantity() > 0,
+                book.getName(), book.getPrice(), book.getQuantity() != null ? book.getQuantity() : 0,
+                book.getPublicationDate(), book.getSalesCount() != null ? book.getSalesCount() : 0);
+
+        lock.writeLock().lock();
+        try {
+            removeDoc(book.getId());
+            int bit = doc.ordinal();
+            docs.put(doc.id(), doc);
+            docsByOrdinal.put(bit, doc);
+            all.set(bit);
+            if (doc.genre() != null) {
+                genres.computeIfAbsent(doc.genre(), g -> new BitSet()).set(bit);
+            }
+            if (doc.language() != null) {
+                languages.computeIfAbsent(doc.language(), l -> new BitSet()).set(bit);
+            }
+            if (doc.ageGroup() != null) {
+                ageGroups.computeIfAbsent(doc.ageGroup(), a -> new BitSet()).set(bit);
+            }
+            if (doc.priceBand() != null) {
+                priceBands.computeIfAbsent(doc.priceBand(), p -> new BitSet()).set(bit);
+            }
+            if (doc.inStock()) {
+                inStock.set(bit);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BitSet match(BookFilter filter, BitSet candidates) {
+        lock.readLock().lock();
+        try {
+            return intersect(filter, candidates, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FacetCountsDTO count(BookFilter filter, BitSet candidates) {
+        lock.readLock().lock();
+        try {
+            long total = intersect(filter, candidates, null).cardinality();
+            return new FacetCountsDTO(total,
+                    countValues(genres, intersect(filter, candidates, Dimension.GENRE), new TreeMap<>()),
+                    countValues(languages, intersect(filter, candidates, Dimension.LANGUAGE), new EnumMap<>(Language.class)),
+                    countValues(ageGroups, intersect(filter, candidates, Dimension.AGE_GROUP), new EnumMap<>(AgeGroup.class)),
+                    countValues(priceBands, intersect(filter, candidates, Dimension.PRICE_BAND), new EnumMap<>(PriceBand.class)),
+                    cardinalityOfAnd(intersect(filter, candidates, Dimension.IN_STOCK), inStock));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> sortedPage(BitSet matches, Sort sort, long offset, int size) {
+        lock.readLock().lock();
+        try {
+            Comparator<FacetDoc> comparator = comparator(sort);
+            long wanted = offset + size;
+            PriorityQueue<FacetDoc> heap = new PriorityQueue<>(comparator.reversed());
+            for (int bit = matches.nextSetBit(0); bit >= 0; bit = matches.nextSetBit(bit + 1)) {
+                FacetDoc doc = docsByOrdinal.get(bit);
+                if (doc == null) {
+                    continue;
+                }
+                heap.offer(doc);
+                if (heap.size() > wanted) {
+                    heap.poll();
+                }
+            }
+            List<FacetDoc> top = new ArrayList<>(heap);
+            top.sort(comparator);
+            return top.stream()
+                    .skip(offset)
+                    .map(FacetDoc::id)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet intersect(BookFilter filter, BitSet candidates, Dimension skipped) {
+        BitSet result = (BitSet) all.clone();
+        if (candidates != null) {
+            result.and(candidates);
+        }
+        if (filter.hasGenre() && skipped != Dimension.GENRE) {
+            and(result, genres.get(filter.getGenre()));
+        }
+        if (filter.getLanguage() != null && skipped != Dimension.LANGUAGE) {
+            and(result, languages.get(filter.getLanguage()));
+        }
+        if (filter.getAgeGroup() != null && skipped != Dimension.AGE_GROUP) {
+            and(result, ageGroups.get(filter.getAgeGroup()));
+        }
+        if (filter.getPriceBand() != null && skipped != Dimension.PRICE_BAND) {
+            and(result, priceBands.get(filter.getPriceBand()));
+        }
+        if (filter.isInStock() && skipped != Dimension.IN_STOCK) {
+            result.and(inStock);
+        }
+        return result;
+    }
+
+    private void and(BitSet target, BitSet bitmap) {
+        if (bitmap == null) {
+            target.clear();
+        } else {
+            target.and(bitmap);
+        }
+    }
+
+    private <K> Map<K, Long> countValues(Map<K, BitSet> bitmaps, BitSet base, Map<K, Long> counts) {
+        bitmaps.forEach((value, bitmap) -> {
+            long count = cardinalityOfAnd(base, bitmap);
+            if (count > 0) {
+                counts.put(value, count);
+            }
+        });
+        return counts;
+    }
+
+    private long cardinalityOfAnd(BitSet base, BitSet bitmap) {
+        BitSet copy = (BitSet) base.clone();
+        copy.and(bitmap);
+        return copy.cardinality();
+    }
+
+    private Comparator<FacetDoc> comparator(Sort sort) {
+        for (Sort.Order order : sort) {
+            Comparator<FacetDoc> byField = switch (order.getProperty()) {
+                case "name" -> Comparator.comparing(FacetDoc::name, Comparator.nullsFirst(String::compareTo));
+                case "price" -> Comparator.comparing(FacetDoc::price, Comparator.nullsFirst(BigDecimal::compareTo));
+                case "quantity" -> Comparator.comparingInt(FacetDoc::quantity);
+                case "publicationDate" -> Comparator.comparing(FacetDoc::publicationDate,
+                        Comparator.nullsFirst(LocalDate::compareTo));
+                case "salesCount" -> Comparator.comparingInt(FacetDoc::salesCount);
+                default -> null;
+            };
+            if (byField != null) {
+                return (order.isAscending() ? byField : byField.reversed()).thenComparing(BY_ID);
+            }
+        }
+        return BY_ID;
+    }
+
+    private void removeDoc(Long bookId) {
+        FacetDoc doc = docs.remove(bookId);
+        if (doc == null) {
+            return;
+        }
+        int bit = doc.ordinal();
+        docsByOrdinal.remove(bit);
+        all.clear(bit);
+        inStock.clear(bit);
+        clearBit(genres, doc.genre(), bit);
+        clearBit(languages, doc.language(), bit);
+        clearBit(ageGroups, doc.ageGroup(), bit);
+        clearBit(priceBands, doc.priceBand(), bit);
+    }
+
+    private <K> void clearBit(Map<K, BitSet> bitmaps, K key, int bit) {
+        if (key == null) {
+            return;
+        }
+        BitSet bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.clear(bit);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class BookLookupIndex implements CatalogIndex {
+
+    private record Keys(String name, String slug) {
+    }
+
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private final Map<String, Long> idsBySlug = new HashMap<>();
+    private final Map<Long, Keys> keysById = new HashMap<>();
+
+    @Override
+    public synchronized void clear() {
+        idsByName.clear();
+        idsBySlug.clear();
+        keysById.clear();
+    }
+
+    @Override
+    public synchronized void put(Book book) {
+        removeKeys(book.getId());
+        Keys keys = new Keys(book.getName(), book.getSlug());
+        if (keys.name() != null) {
+            idsByName.put(keys.name(), book.getId());
+        }
+        if (keys.slug() != null) {
+            idsBySlug.put(keys.slug(), book.getId());
+        }
+        keysById.put(book.getId(), keys);
+    }
+
+    @Override
+    public synchronized void remove(Long bookId) {
+        removeKeys(bookId);
+    }
+
+    public synchronized Optional<Long> findIdByName(String name) {
+        return Optional.ofNullable(idsByName.get(name));
+    }
+
+    public synchronized Optional<Long> findIdBySlug(String slug) {
+        return Optional.ofNullable(idsBySlug.get(slug));
+    }
+
+    private void removeKeys(Long bookId) {
+        Keys keys = keysById.remove(bookId);
+        if (keys == null) {
+            return;
+        }
+        if (keys.name() != null) {
+            idsByName.remove(keys.name(), bookId);
+        }
+        if (keys.slug() != null) {
+            idsBySlug.remove(keys.slug(), bookId);
+        }
+    }
+}
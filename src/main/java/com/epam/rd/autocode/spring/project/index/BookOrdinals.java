@@ -0,0 +1,40 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class BookOrdinals {
+
+    private final Map<Long, Integer> ordinals = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public int assign(Long bookId) {
+        return ordinals.computeIfAbsent(bookId, id -> next.getAndIncrement());
+    }
+
+    public int find(Long bookId) {
+        return ordinals.getOrDefault(bookId, -1);
+    }
+
+    public BitSet toBitSet(Collection<Long> bookIds) {
+        BitSet bits = new BitSet();
+        for (Long bookId : bookIds) {
+            int ordinal = find(bookId);
+            if (ordinal >= 0) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    public void clear() {
+        ordinals.clear();
+        next.set(0);
+    }
+}
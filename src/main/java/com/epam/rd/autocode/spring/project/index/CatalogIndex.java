@@ -0,0 +1,12 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+
+public interface CatalogIndex {
+
+    void clear();
+
+    void put(Book book);
+
+    void remove(Long bookId);
+}
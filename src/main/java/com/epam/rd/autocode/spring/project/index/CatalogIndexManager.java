@@ -0,0 +1,95 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogIndexManager {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final List<CatalogIndex> indexes;
+    private final BookOrdinals bookOrdinals;
+
+    private final Object lock = new Object();
+    private List<BookChangedEvent> pendingEvents;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "catalog-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            ready = false;
+            pendingEvents = new ArrayList<>();
+        }
+        boolean success = false;
+        try {
+            indexes.forEach(CatalogIndex::clear);
+            bookOrdinals.clear();
+            long lastId = 0;
+            long total = 0;
+            List<Book> batch;
+            do {
+                batch = bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastId);
+                for (Book book : batch) {
+                    indexes.forEach(index -> index.put(book));
+                }
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+                total += batch.size();
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            success = true;
+            log.info("Catalog indexes rebuilt: {} books", total);
+        } catch (RuntimeException e) {
+            log.error("Catalog index rebuild failed, falling back to database queries", e);
+        } finally {
+            synchronized (lock) {
+                pendingEvents.forEach(this::apply);
+                pendingEvents = null;
+                ready = success;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        synchronized (lock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            } else {
+                apply(event);
+            }
+        }
+    }
+
+    private void apply(BookChangedEvent event) {
+        if (event.isDeleted()) {
+            indexes.forEach(index -> index.remove(event.bookId()));
+        } else {
+            indexes.forEach(index -> index.put(event.book()));
+        }
+    }
+}
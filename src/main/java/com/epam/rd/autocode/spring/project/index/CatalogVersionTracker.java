@@ -0,0 +1,39 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class CatalogVersionTracker {
+
+    private final AtomicLong catalogVersion = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, Long> bookVersions = new ConcurrentHashMap<>();
+    private volatile long resetVersion = catalogVersion.get();
+
+    public long getCatalogVersion() {
+        return catalogVersion.get();
+    }
+
+    public long getBookVersion(Long bookId) {
+        return Math.max(bookVersions.getOrDefault(bookId, 0L), resetVersion);
+    }
+
+    public void bumpAll() {
+        resetVersion = catalogVersion.incrementAndGet();
+        bookVersions.clear();
+    }
+
+    public void bump(Long bookId) {
+        bookVersions.put(bookId, catalogVersion.incrementAndGet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookChanged(BookChangedEvent event) {
+        bump(event.bookId());
+    }
+}
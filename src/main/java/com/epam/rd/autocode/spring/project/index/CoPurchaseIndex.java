@@ -0,0 +1,183 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CoPurchaseIndex {
+
+    static final int TOP_N = 6;
+    static final int MAX_CANDIDATES = TOP_N * 8;
+
+    private static final String BACKFILL_SQL = "SELECT bi.order_id, bi.book_id FROM book_items bi "
+            + "JOIN orders o ON o.id = bi.order_id WHERE bi.book_id IS NOT NULL AND o.status <> 'CANCELED'";
+
+    private static final Comparator<Map.Entry<Long, Integer>> BY_COUNT = Map.Entry.<Long, Integer>comparingByValue()
+            .reversed()
+            .thenComparing(Map.Entry.comparingByKey());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionTracker catalogVersionTracker;
+
+    private final Object lock = new Object();
+    private Map<Long, Map<Long, Integer>> pairCounts = new HashMap<>();
+    private volatile Map<Long, List<Long>> neighbours = new ConcurrentHashMap<>();
+    private List<SalesRecordedEvent> pendingEvents;
+
+    public List<Long> neighbours(Long bookId) {
+        return neighbours.getOrDefault(bookId, List.of());
+    }
+
+    int count(Long bookId, Long otherId) {
+        synchronized (lock) {
+            return pairCounts.getOrDefault(bookId, Map.of()).getOrDefault(otherId, 0);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "co-purchase-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        synchronized (lock) {
+            pendingEvents = new ArrayList<>();
+        }
+        Set<Long> backfilledOrders = Set.of();
+        boolean success = false;
+        try {
+            Map<Long, Set<Long>> orders = new HashMap<>();
+            jdbcTemplate.query(BACKFILL_SQL, rs -> {
+                orders.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+            });
+
+            Map<Long, Map<Long, Integer>> counts = orders.values().parallelStream()
+                    .filter(books -> books.size() > 1)
+                    .collect(HashMap::new, CoPurchaseIndex::addPairs, CoPurchaseIndex::mergeCounts);
+            Map<Long, List<Long>> tops = counts.entrySet().parallelStream()
+                    .collect(Collectors.toConcurrentMap(Map.Entry::getKey, entry -> top(entry.getValue())));
+
+            synchronized (lock) {
+                pairCounts = counts;
+                neighbours = tops;
+            }
+            backfilledOrders = orders.keySet();
+            success = true;
+            log.info("Co-purchase index rebuilt: {} orders, {} books with neighbours", orders.size(), tops.size());
+        } catch (RuntimeException e) {
+            log.error("Co-purchase index rebuild failed", e);
+        } finally {
+            synchronized (lock) {
+                for (SalesRecordedEvent event : pendingEvents) {
+                    if (!success || backfilledOrders.contains(event.orderId()) == event.reversal()) {
+                        apply(event);
+                    }
+                }
+                pendingEvents = null;
+            }
+            catalogVersionTracker.bumpAll();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesRecorded(SalesRecordedEvent event) {
+        synchronized (lock) {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            } else {
+                apply(event);
+            }
+        }
+    }
+
+    private void apply(SalesRecordedEvent event) {
+        Set<Long> books = new LinkedHashSet<>();
+        for (OrderLine line : event.lines()) {
+            books.add(line.bookId());
+        }
+        if (books.size() < 2) {
+            return;
+        }
+        if (event.reversal()) {
+            removePairs(pairCounts, books);
+        } else {
+            addPairs(pairCounts, books);
+        }
+        for (Long bookId : books) {
+            Map<Long, Integer> row = pairCounts.get(bookId);
+            if (row == null || row.isEmpty()) {
+                pairCounts.remove(bookId);
+                neighbours.remove(bookId);
+            } else {
+                neighbours.put(bookId, top(row));
+            }
+        }
+    }
+
+    private static void addPairs(Map<Long, Map<Long, Integer>> counts, Set<Long> books) {
+        for (Long bookId : books) {
+            Map<Long, Integer> row = counts.computeIfAbsent(bookId, id -> new HashMap<>());
+            for (Long other : books) {
+                if (!other.equals(bookId)) {
+                    row.merge(other, 1, Integer::sum);
+                }
+            }
+            trim(row);
+        }
+    }
+
+    private static void removePairs(Map<Long, Map<Long, Integer>> counts, Set<Long> books) {
+        for (Long bookId : books) {
+            Map<Long, Integer> row = counts.get(bookId);
+            if (row == null) {
+                continue;
+            }
+            for (Long other : books) {
+                row.computeIfPresent(other, (id, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    private static void mergeCounts(Map<Long, Map<Long, Integer>> target, Map<Long, Map<Long, Integer>> source) {
+        source.forEach((bookId, row) -> {
+            Map<Long, Integer> targetRow = target.computeIfAbsent(bookId, id -> new HashMap<>());
+            row.forEach((other, count) -> targetRow.merge(other, count, Integer::sum));
+            trim(targetRow);
+        });
+    }
+
+    private static void trim(Map<Long, Integer> row) {
+        if (row.size() <= MAX_CANDIDATES * 2) {
+            return;
+        }
+        Set<Long> kept = row.entrySet().stream()
+                .sorted(BY_COUNT)
+                .limit(MAX_CANDIDATES)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        row.keySet().retainAll(kept);
+    }
+
+    private static List<Long> top(Map<Long, Integer> row) {
+        return row.entrySet().stream()
+                .sorted(BY_COUNT)
+                .limit(TOP_N)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class GenreFacetIndex implements CatalogIndex {
+
+    private record Entry(String genre, boolean inStock) {
+    }
+
+    private static final class Counts {
+        private long total;
+        private long inStock;
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Counts> counts = new TreeMap<>();
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        counts.clear();
+    }
+
+    @Override
+    public synchronized void put(Book book) {
+        removeEntry(book.getId());
+        if (book.getGenre() == null) {
+            return;
+        }
+        Entry entry = new Entry(book.getGenre(), book.getQuantity() != null && book.getQuantity() > 0);
+        entries.put(book.getId(), entry);
+        Counts genreCounts = counts.computeIfAbsent(entry.genre(), genre -> new Counts());
+        genreCounts.total++;
+        if (entry.inStock()) {
+            genreCounts.inStock++;
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long bookId) {
+        removeEntry(bookId);
+    }
+
+    public synchronized List<String> getGenres() {
+        return List.copyOf(counts.keySet());
+    }
+
+    public synchronized List<GenreFacetDTO> getFacets() {
+        return counts.entrySet().stream()
+                .map(e -> new GenreFacetDTO(e.getKey(), e.getValue().total, e.getValue().inStock))
+                .toList();
+    }
+
+    private void removeEntry(Long bookId) {
+        Entry entry = entries.remove(bookId);
+        if (entry == null) {
+            return;
+        }
+        Counts genreCounts = counts.get(entry.genre());
+        genreCounts.total--;
+        if (entry.inStock()) {
+            genreCounts.inStock--;
+        }
+        if (genreCounts.total == 0) {
+            counts.remove(entry.genre());
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class PriceIndex implements CatalogIndex {
+
+    static final long BUCKET_CENTS = 100;
+    static final int MAX_BARS = 20;
+
+    private static final int ORDINAL_BITS = 31;
+    private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+
+    private final BookOrdinals bookOrdinals;
+    private final NavigableSet<Long> entries = new TreeSet<>();
+    private final Map<Long, Long> centsById = new HashMap<>();
+    private final NavigableMap<Long, Integer> buckets = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private PriceHistogramDTO histogram;
+
+    public static long toCents(BigDecimal price) {
+        return Math.max(0, price.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact());
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            centsById.clear();
+            buckets.clear();
+            histogram = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Book book) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(book.getId());
+            if (book.getPrice() != null) {
+                long cents = toCents(book.getPrice());
+                entries.add(key(cents, bookOrdinals.assign(book.getId())));
+                centsById.put(book.getId(), cents);
+                buckets.merge(cents / BUCKET_CENTS, 1, Integer::sum);
+                histogram = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public BitSet range(BigDecimal min, BigDecimal max) {
+        long from = min != null ? key(toCents(min), 0) : Long.MIN_VALUE;
+        long to = max != null ? key(toCents(max), ORDINAL_MASK) : Long.MAX_VALUE;
+        BitSet ordinals = new BitSet();
+        if (from > to) {
+            return ordinals;
+        }
+        lock.readLock().lock();
+        try {
+            for (long entry : entries.subSet(from, true, to, true)) {
+                ordinals.set((int) (entry & ORDINAL_MASK));
+            }
+            return ordinals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PriceHistogramDTO histogram() {
+        lock.readLock().lock();
+        try {
+            PriceHistogramDTO cached = histogram;
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (histogram == null) {
+                histogram = buildHistogram();
+            }
+            return histogram;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private PriceHistogramDTO buildHistogram() {
+        if (entries.isEmpty()) {
+            return new PriceHistogramDTO(BigDecimal.ZERO, BigDecimal.ZERO, 0, List.of());
+        }
+        long minCents = entries.first() >>> ORDINAL_BITS;
+        long maxCents = entries.last() >>> ORDINAL_BITS;
+        long firstBucket = buckets.firstKey();
+        long span = buckets.lastKey() - firstBucket + 1;
+        long bucketsPerBar = (span + MAX_BARS - 1) / MAX_BARS;
+
+        List<PriceHistogramDTO.Bar> bars = new ArrayList<>();
+        long maxCount = 0;
+        for (long start = firstBucket; start <= buckets.lastKey(); start += bucketsPerBar) {
+            long count = 0;
+            for (int value : buckets.subMap(start, true, start + bucketsPerBar, false).values()) {
+                count += value;
+            }
+            maxCount = Math.max(maxCount, count);
+            bars.add(new PriceHistogramDTO.Bar(fromCents(start * BUCKET_CENTS),
+                    fromCents((start + bucketsPerBar) * BUCKET_CENTS), count));
+        }
+        return new PriceHistogramDTO(fromCents(minCents), fromCents(maxCents), maxCount, List.copyOf(bars));
+    }
+
+    private void removeEntry(Long bookId) {
+        Long cents = centsById.remove(bookId);
+        if (cents == null) {
+            return;
+        }
+        entries.remove(key(cents, bookOrdinals.find(bookId)));
+        histogram = null;
+        buckets.computeIfPresent(cents / BUCKET_CENTS, (bucket, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static long key(long cents, long ordinal) {
+        return (cents << ORDINAL_BITS) | ordinal;
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+
+import java.time.Instant;
+import java.util.*;
+
+public class SlidingSalesCounter {
+
+    private final long bucketMillis;
+    private final SpaceSavingSketch[] buckets;
+    private final long[] epochs;
+    private long latestEpoch = Long.MIN_VALUE;
+
+    public SlidingSalesCounter(BestsellerWindow window, int capacity) {
+        this.bucketMillis = window.isAllTime() ? Long.MAX_VALUE : window.getBucket().toMillis();
+        this.buckets = new SpaceSavingSketch[window.getBucketCount()];
+        this.epochs = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new SpaceSavingSketch(capacity);
+            epochs[i] = Long.MIN_VALUE;
+        }
+    }
+
+    public void add(Instant at, long bookId, long units) {
+        SpaceSavingSketch bucket = bucketFor(epoch(at), true);
+        if (bucket != null) {
+            bucket.add(bookId, units);
+        }
+    }
+
+    public void subtract(Instant at, long bookId, long units) {
+        SpaceSavingSketch bucket = bucketFor(epoch(at), false);
+        if (bucket != null) {
+            bucket.subtract(bookId, units);
+        }
+    }
+
+    public List<Map.Entry<Long, Long>> top(Instant now, int limit) {
+        long nowEpoch = epoch(now);
+        Map<Long, Long> totals = new HashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (epochs[i] <= nowEpoch && epochs[i] > nowEpoch - buckets.length) {
+                buckets[i].forEach((bookId, units) -> totals.merge(bookId, units, Long::sum));
+            }
+        }
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+    }
+
+    private SpaceSavingSketch bucketFor(long epoch, boolean create) {
+        if (latestEpoch != Long.MIN_VALUE && epoch <= latestEpoch - buckets.length) {
+            return null;
+        }
+        int index = (int) Math.floorMod(epoch, (long) buckets.length);
+        if (epochs[index] != epoch) {
+            if (!create || epochs[index] > epoch) {
+                return null;
+            }
+            buckets[index].clear();
+            epochs[index] = epoch;
+        }
+        latestEpoch = Math.max(latestEpoch, epoch);
+        return buckets[index];
+    }
+
+    private long epoch(Instant at) {
+        return bucketMillis == Long.MAX_VALUE ? 0 : Math.floorDiv(at.toEpochMilli(), bucketMillis);
+    }
+}
@@ -0,0 +1,73 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+public class SpaceSavingSketch {
+
+    private record Slot(long key, long count) {
+    }
+
+    private static final Comparator<Slot> BY_COUNT = Comparator.comparingLong(Slot::count)
+            .thenComparingLong(Slot::key);
+
+    private final int capacity;
+    private final Map<Long, Slot> slots = new HashMap<>();
+    private final NavigableSet<Slot> ordered = new TreeSet<>(BY_COUNT);
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    public void add(long key, long amount) {
+        Slot slot = slots.get(key);
+        long base = 0;
+        if (slot != null) {
+            ordered.remove(slot);
+            base = slot.count();
+        } else if (slots.size() == capacity) {
+            Slot evicted = ordered.pollFirst();
+            slots.remove(evicted.key());
+            base = evicted.count();
+        }
+        put(new Slot(key, base + amount));
+    }
+
+    public void subtract(long key, long amount) {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            return;
+        }
+        ordered.remove(slot);
+        slots.remove(key);
+        if (slot.count() > amount) {
+            put(new Slot(key, slot.count() - amount));
+        }
+    }
+
+    public long count(long key) {
+        Slot slot = slots.get(key);
+        return slot != null ? slot.count() : 0;
+    }
+
+    public void forEach(BiConsumer<Long, Long> action) {
+        slots.values().forEach(slot -> action.accept(slot.key(), slot.count()));
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public void clear() {
+        slots.clear();
+        ordered.clear();
+    }
+
+    private void put(Slot slot) {
+        slots.put(slot.key(), slot);
+        ordered.add(slot);
+    }
+}
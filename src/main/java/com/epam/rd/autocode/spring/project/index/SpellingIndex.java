@@ -0,0 +1,203 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class SpellingIndex implements CatalogIndex {
+
+    static final int MAX_DISTANCE = 2;
+    static final int PREFIX_LENGTH = 7;
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final int SHORT_WORD_LENGTH = 4;
+
+    private final Map<String, Integer> frequencies = new HashMap<>();
+    private final Map<String, Set<String>> deletes = new HashMap<>();
+    private final Map<Long, Set<String>> bookWords = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            frequencies.clear();
+            deletes.clear();
+            bookWords.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Book book) {
+        Set<String> words = new HashSet<>();
+        addWords(words, book.getName());
+        addWords(words, book.getAuthor());
+
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            for (String word : words) {
+                if (frequencies.merge(word, 1, Integer::sum) == 1) {
+                    for (String variant : variants(word, MAX_DISTANCE)) {
+                        deletes.computeIfAbsent(variant, v -> new HashSet<>()).add(word);
+                    }
+                }
+            }
+            bookWords.put(book.getId(), words);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<String> correct(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<String> corrected = new ArrayList<>(tokens.size());
+            boolean changed = false;
+            for (String token : tokens) {
+                String word = closest(token);
+                corrected.add(word != null ? word : token);
+                changed |= word != null && !word.equals(token);
+            }
+            return changed ? Optional.of(String.join(" ", corrected)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private String closest(String token) {
+        if (frequencies.containsKey(token)) {
+            return token;
+        }
+        int maxDistance = allowedDistance(token.length());
+        if (maxDistance == 0) {
+            return null;
+        }
+
+        String best = null;
+        int bestDistance = maxDistance + 1;
+        int bestFrequency = 0;
+        Set<String> checked = new HashSet<>();
+        for (String variant : variants(token, maxDistance)) {
+            for (String word : deletes.getOrDefault(variant, Set.of())) {
+                if (!checked.add(word) || Math.abs(word.length() - token.length()) > maxDistance) {
+                    continue;
+                }
+                int distance = distance(token, word, maxDistance);
+                if (distance > maxDistance) {
+                    continue;
+                }
+                int frequency = frequencies.get(word);
+                if (distance < bestDistance
+                        || distance == bestDistance && (frequency > bestFrequency
+                        || frequency == bestFrequency && word.compareTo(best) < 0)) {
+                    best = word;
+                    bestDistance = distance;
+                    bestFrequency = frequency;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int allowedDistance(int length) {
+        if (length < MIN_WORD_LENGTH) {
+            return 0;
+        }
+        return length <= SHORT_WORD_LENGTH ? 1 : MAX_DISTANCE;
+    }
+
+    private Set<String> variants(String word, int maxDistance) {
+        String prefix = word.length() > PREFIX_LENGTH ? word.substring(0, PREFIX_LENGTH) : word;
+        Set<String> variants = new HashSet<>();
+        variants.add(prefix);
+        Set<String> frontier = Set.of(prefix);
+        for (int distance = 1; distance <= maxDistance; distance++) {
+            Set<String> next = new HashSet<>();
+            for (String current : frontier) {
+                for (int i = 0; i < current.length(); i++) {
+                    String deleted = current.substring(0, i) + current.substring(i + 1);
+                    if (variants.add(deleted)) {
+                        next.add(deleted);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return variants;
+    }
+
+    static int distance(String a, String b, int maxDistance) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int rowMin = Integer.MAX_VALUE;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, d[i][j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private void addWords(Set<String> words, String value) {
+        for (String token : TextNormalizer.tokenize(value)) {
+            if (token.length() >= MIN_WORD_LENGTH) {
+                words.add(token);
+            }
+        }
+    }
+
+    private void removeBook(Long bookId) {
+        Set<String> words = bookWords.remove(bookId);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            if (frequencies.merge(word, -1, Integer::sum) == 0) {
+                frequencies.remove(word);
+                for (String variant : variants(word, MAX_DISTANCE)) {
+                    Set<String> candidates = deletes.get(variant);
+                    if (candidates != null) {
+                        candidates.remove(word);
+                        if (candidates.isEmpty()) {
+                            deletes.remove(variant);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class SuggestionIndex implements CatalogIndex {
+
+    static final int TOP_K = 10;
+
+    private record Completion(String display, long weight) {
+    }
+
+    private record IndexedBook(List<String> keys, long sales) {
+    }
+
+    private static final Comparator<Completion> BY_POPULARITY = Comparator
+            .comparingLong(Completion::weight).reversed()
+            .thenComparing(Completion::display);
+
+    private static final class Node {
+        private String label;
+        private final Map<Character, Node> children = new HashMap<>();
+        private Completion terminal;
+        private List<Completion> top = List.of();
+
+        private Node(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final class Term {
+        private final String display;
+        private int books;
+        private long sales;
+
+        private Term(String display) {
+            this.display = display;
+        }
+    }
+
+    private Node root = new Node("");
+    private final Map<String, Term> terms = new HashMap<>();
+    private final Map<Long, IndexedBook> indexedBooks = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root = new Node("");
+            terms.clear();
+            indexedBooks.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void put(Book book) {
+        Map<String, String> completions = new LinkedHashMap<>();
+        addCompletion(completions, book.getName());
+        addCompletion(completions, book.getAuthor());
+        long sales = book.getSalesCount() != null ? Math.max(0, book.getSalesCount()) : 0;
+
+        lock.writeLock().lock();
+        try {
+            removeBook(book.getId());
+            for (Map.Entry<String, String> completion : completions.entrySet()) {
+                Term term = terms.computeIfAbsent(completion.getKey(), key -> new Term(completion.getValue()));
+                term.books++;
+                term.sales += sales;
+                upsert(completion.getKey(), new Completion(term.display, term.sales));
+            }
+            indexedBooks.put(book.getId(), new IndexedBook(List.copyOf(completions.keySet()), sales));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeBook(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        String key = TextNormalizer.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String remaining = key;
+            while (!remaining.isEmpty()) {
+                Node child = node.children.get(remaining.charAt(0));
+                if (child == null) {
+                    return List.of();
+                }
+                if (child.label.startsWith(remaining)) {
+                    node = child;
+                    break;
+                }
+                if (!remaining.startsWith(child.label)) {
+                    return List.of();
+                }
+                remaining = remaining.substring(child.label.length());
+                node = child;
+            }
+            return node.top.stream()
+                    .limit(limit)
+                    .map(Completion::display)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addCompletion(Map<String, String> completions, String value) {
+        String key = TextNormalizer.normalize(value);
+        if (!key.isEmpty()) {
+            completions.putIfAbsent(key, value.trim());
+        }
+    }
+
+    private void removeBook(Long bookId) {
+        IndexedBook indexed = indexedBooks.remove(bookId);
+        if (indexed == null) {
+            return;
+        }
+        for (String key : indexed.keys()) {
+            Term term = terms.get(key);
+            term.books--;
+            term.sales -= indexed.sales();
+            if (term.books == 0) {
+                terms.remove(key);
+                delete(key);
+            } else {
+                upsert(key, new Completion(term.display, term.sales));
+            }
+        }
+    }
+
+    private void upsert(String key, Completion completion) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        String remaining = key;
+        while (!remaining.isEmpty()) {
+            Node child = node.children.get(remaining.charAt(0));
+            if (child == null) {
+                child = new Node(remaining);
+                node.children.put(remaining.charAt(0), child);
+                remaining = "";
+            } else {
+                int common = commonPrefixLength(child.label, remaining);
+                if (common < child.label.length()) {
+                    child = split(node, child, common);
+                }
+                remaining = remaining.substring(common);
+            }
+            node = child;
+            path.push(node);
+        }
+        node.terminal = completion;
+        refreshTop(path);
+    }
+
+    private void delete(String key) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        path.push(node);
+        String remaining = key;
+        while (!remaining.isEmpty()) {
+            Node child = node.children.get(remaining.charAt(0));
+            if (child == null || !remaining.startsWith(child.label)) {
+                return;
+            }
+            remaining = remaining.substring(child.label.length());
+            node = child;
+            path.push(node);
+        }
+        node.terminal = null;
+
+        Node current = path.pop();
+        while (!path.isEmpty() && current.terminal == null && current.children.size() <= 1) {
+            Node parent = path.peek();
+            if (current.children.isEmpty()) {
+                parent.children.remove(current.label.charAt(0));
+            } else {
+                Node onlyChild = current.children.values().iterator().next();
+                onlyChild.label = current.label + onlyChild.label;
+                parent.children.put(onlyChild.label.charAt(0), onlyChild);
+            }
+            current = path.pop();
+        }
+        path.push(current);
+        refreshTop(path);
+    }
+
+    private Node split(Node parent, Node child, int at) {
+        Node middle = new Node(child.label.substring(0, at));
+        child.label = child.label.substring(at);
+        middle.children.put(child.label.charAt(0), child);
+        middle.top = child.top;
+        parent.children.put(middle.label.charAt(0), middle);
+        return middle;
+    }
+
+    private void refreshTop(Deque<Node> path) {
+        for (Node node : path) {
+            List<Completion> candidates = new ArrayList<>();
+            if (node.terminal != null) {
+                candidates.add(node.terminal);
+            }
+            node.children.values().forEach(child -> candidates.addAll(child.top));
+            candidates.sort(BY_POPULARITY);
+            node.top = List.copyOf(candidates.subList(0, Math.min(TOP_K, candidates.size())));
+        }
+    }
+
+    private int commonPrefixLength(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,79 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public final class TextNormalizer {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['`’ʼ]");
+    private static final String SLUG_SEPARATOR = "-";
+    private static final String KEY_SEPARATOR = " ";
+
+    private static final Map<Character, String> TRANSLITERATION = Map.ofEntries(
+            Map.entry('а', "a"), Map.entry('б', "b"), Map.entry('в', "v"), Map.entry('г', "h"),
+            Map.entry('ґ', "g"), Map.entry('д', "d"), Map.entry('е', "e"), Map.entry('є', "ie"),
+            Map.entry('ж', "zh"), Map.entry('з', "z"), Map.entry('и', "y"), Map.entry('і', "i"),
+            Map.entry('ї', "i"), Map.entry('й', "i"), Map.entry('к', "k"), Map.entry('л', "l"),
+            Map.entry('м', "m"), Map.entry('н', "n"), Map.entry('о', "o"), Map.entry('п', "p"),
+            Map.entry('р', "r"), Map.entry('с', "s"), Map.entry('т', "t"), Map.entry('у', "u"),
+            Map.entry('ф', "f"), Map.entry('х', "kh"), Map.entry('ц', "ts"), Map.entry('ч', "ch"),
+            Map.entry('ш', "sh"), Map.entry('щ', "shch"), Map.entry('ь', ""), Map.entry('ю', "iu"),
+            Map.entry('я', "ia"), Map.entry('ё', "e"), Map.entry('ъ', ""), Map.entry('ы', "y"),
+            Map.entry('э', "e"), Map.entry('ß', "ss"), Map.entry('æ', "ae"), Map.entry('œ', "oe"),
+            Map.entry('ø', "o"), Map.entry('ł', "l"), Map.entry('đ', "d"));
+
+    private static final Map<Character, String> WORD_INITIAL_TRANSLITERATION = Map.of(
+            'є', "ye", 'ї', "yi", 'й', "y", 'ю', "yu", 'я', "ya");
+
+    private TextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFC);
+        StringBuilder transliterated = new StringBuilder(folded.length());
+        boolean wordStart = true;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            String latin = wordStart ? WORD_INITIAL_TRANSLITERATION.get(c) : null;
+            if (latin == null) {
+                latin = TRANSLITERATION.get(c);
+            }
+            transliterated.append(latin != null ? latin : String.valueOf(c));
+            wordStart = !Character.isLetter(c) && !APOSTROPHES.matcher(String.valueOf(c)).matches();
+        }
+        String stripped = COMBINING_MARKS.matcher(Normalizer.normalize(transliterated, Normalizer.Form.NFD))
+                .replaceAll("");
+        return APOSTROPHES.matcher(stripped).replaceAll("").trim();
+    }
+
+    public static String slugify(String text) {
+        return String.join(SLUG_SEPARATOR, tokenize(text));
+    }
+
+    public static String searchKey(String... values) {
+        List<String> tokens = new ArrayList<>();
+        for (String value : values) {
+            tokens.addAll(tokenize(value));
+        }
+        return String.join(KEY_SEPARATOR, tokens);
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalize(text))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
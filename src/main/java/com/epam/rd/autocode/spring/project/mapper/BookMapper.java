@@ -0,0 +1,61 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+
+public class BookMapper {
+
+    public BookDTO toDto(Book book) {
+        return new BookDTO(book.getId(), book.getName(), book.getGenre(), book.getAgeGroup(), book.getPrice(),
+                book.getPublicationDate(), book.getAuthor(), book.getPages(), book.getCharacteristics(),
+                book.getDescription(), book.getLanguage(), book.getImageUrl(), book.getQuantity(), book.getSlug());
+    }
+
+    public Book toEntity(BookDTO dto) {
+        Book book = new Book();
+        updateEntity(dto, book);
+        return book;
+    }
+
+    public void updateEntity(BookDTO dto, Book book) {
+        if (dto.getId() != null) {
+            book.setId(dto.getId());
+        }
+        if (dto.getName() != null) {
+            book.setName(dto.getName());
+        }
+        if (dto.getGenre() != null) {
+            book.setGenre(dto.getGenre());
+        }
+        if (dto.getAgeGroup() != null) {
+            book.setAgeGroup(dto.getAgeGroup());
+        }
+        if (dto.getPrice() != null) {
+            book.setPrice(dto.getPrice());
+        }
+        if (dto.getPublicationDate() != null) {
+            book.setPublicationDate(dto.getPublicationDate());
+        }
+        if (dto.getAuthor() != null) {
+            book.setAuthor(dto.getAuthor());
+        }
+        if (dto.getPages() != null) {
+            book.setPages(dto.getPages());
+        }
+        if (dto.getCharacteristics() != null) {
+            book.setCharacteristics(dto.getCharacteristics());
+        }
+        if (dto.getDescription() != null) {
+            book.setDescription(dto.getDescription());
+        }
+        if (dto.getLanguage() != null) {
+            book.setLanguage(dto.getLanguage());
+        }
+        if (dto.getImageUrl() != null) {
+            book.setImageUrl(dto.getImageUrl());
+        }
+        if (dto.getQuantity() != null) {
+            book.setQuantity(dto.getQuantity());
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.model.Client;
+
+public class ClientMapper {
+
+    public ClientDTO toDto(Client client) {
+        return new ClientDTO(client.getEmail(), client.getPassword(), client.getName(),
+                client.getBalance(), client.isBlocked());
+    }
+
+    public Client toEntity(ClientDTO dto) {
+        Client client = new Client();
+        client.setEmail(dto.getEmail());
+        client.setPassword(dto.getPassword());
+        client.setName(dto.getName());
+        client.setBalance(dto.getBalance());
+        client.setBlocked(dto.isBlocked());
+        return client;
+    }
+}
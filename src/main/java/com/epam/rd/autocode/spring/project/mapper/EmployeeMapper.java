@@ -0,0 +1,30 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.model.Employee;
+
+public class EmployeeMapper {
+
+    public EmployeeDTO toDto(Employee employee) {
+        return new EmployeeDTO(employee.getEmail(), employee.getPassword(), employee.getName(),
+                employee.getBirthDate(), employee.getPhone());
+    }
+
+    public void updateEntity(EmployeeDTO dto, Employee employee) {
+        if (dto.getEmail() != null) {
+            employee.setEmail(dto.getEmail());
+        }
+        if (dto.getPassword() != null) {
+            employee.setPassword(dto.getPassword());
+        }
+        if (dto.getName() != null) {
+            employee.setName(dto.getName());
+        }
+        if (dto.getBirthDate() != null) {
+            employee.setBirthDate(dto.getBirthDate());
+        }
+        if (dto.getPhone() != null) {
+            employee.setPhone(dto.getPhone());
+        }
+    }
+}
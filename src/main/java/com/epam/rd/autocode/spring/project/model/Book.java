@@ -1,11 +1,15 @@
 package com.epam.rd.autocode.spring.project.model;
 
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
 import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
 import com.epam.rd.autocode.spring.project.model.enums.Language;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +19,20 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_name_id", columnList = "name, id"),
+        @Index(name = "idx_books_name_id_desc", columnList = "name DESC, id DESC"),
+        @Index(name = "idx_books_price_id", columnList = "price, id"),
+        @Index(name = "idx_books_price_id_desc", columnList = "price DESC, id DESC"),
+        @Index(name = "idx_books_quantity_id", columnList = "quantity, id"),
+        @Index(name = "idx_books_quantity_id_desc", columnList = "quantity DESC, id DESC"),
+        @Index(name = "idx_books_publication_year_id", columnList = "publication_year, id"),
+        @Index(name = "idx_books_publication_year_id_desc", columnList = "publication_year DESC, id DESC"),
+        @Index(name = "idx_books_sales_count_id", columnList = "sales_count, id"),
+        @Index(name = "idx_books_sales_count_id_desc", columnList = "sales_count DESC, id DESC")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_books_name", columnNames = "name"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -54,4 +71,20 @@ public class Book {
 
     @Column(nullable = false)
     private Integer quantity;
+
+    @Column(unique = true)
+    private String slug;
+
+    @ColumnDefault("0")
+    @Column(name = "sales_count", nullable = false)
+    private Integer salesCount = 0;
+
+    @Column(name = "search_key", length = 2048)
+    private String searchKey;
+
+    @PrePersist
+    @PreUpdate
+    void updateSearchKey() {
+        searchKey = TextNormalizer.searchKey(name, author);
+    }
 }
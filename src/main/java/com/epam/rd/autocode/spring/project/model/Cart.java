@@ -0,0 +1,28 @@
+package com.epam.rd.autocode.spring.project.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "carts")
+public class Cart {
+    @Id
+    @Column(name = "owner_email")
+    private String ownerEmail;
+
+    @Column(name = "lines_data", nullable = false, length = 12000)
+    private byte[] lines;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
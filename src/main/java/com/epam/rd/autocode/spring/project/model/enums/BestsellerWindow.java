@@ -0,0 +1,24 @@
+package com.epam.rd.autocode.spring.project.model.enums;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public enum BestsellerWindow {
+    LAST_24_HOURS(Duration.ofHours(1), 24),
+    LAST_7_DAYS(Duration.ofHours(6), 28),
+    ALL_TIME(null, 1);
+
+    private final Duration bucket;
+    private final int bucketCount;
+
+    BestsellerWindow(Duration bucket, int bucketCount) {
+        this.bucket = bucket;
+        this.bucketCount = bucketCount;
+    }
+
+    public boolean isAllTime() {
+        return bucket == null;
+    }
+}
@@ -0,0 +1,40 @@
+package com.epam.rd.autocode.spring.project.model.enums;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Getter
+public enum BookSortField {
+    NAME("name", "name", true, value -> value),
+    PRICE("price", "price", true, BigDecimal::new),
+    QUANTITY("quantity", "quantity", true, Integer::valueOf),
+    PUBLICATION_DATE("publicationDate", "publicationDate", false, LocalDate::parse),
+    POPULARITY("popularity", "salesCount", true, Integer::valueOf);
+
+    private final String param;
+    private final String property;
+    private final boolean keyset;
+    private final Function<String, Object> parser;
+
+    BookSortField(String param, String property, boolean keyset, Function<String, Object> parser) {
+        this.param = param;
+        this.property = property;
+        this.keyset = keyset;
+        this.parser = parser;
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static Optional<BookSortField> fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(field -> field.param.equals(param))
+                .findFirst();
+    }
+}
@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.spring.project.model.enums;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
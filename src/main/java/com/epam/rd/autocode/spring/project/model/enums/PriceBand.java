@@ -0,0 +1,46 @@
+package com.epam.rd.autocode.spring.project.model.enums;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+@Getter
+public enum PriceBand {
+    UNDER_10(null, new BigDecimal("10")),
+    FROM_10_TO_20(new BigDecimal("10"), new BigDecimal("20")),
+    FROM_20_TO_30(new BigDecimal("20"), new BigDecimal("30")),
+    FROM_30_TO_50(new BigDecimal("30"), new BigDecimal("50")),
+    OVER_50(new BigDecimal("50"), null);
+
+    private final BigDecimal min;
+    private final BigDecimal max;
+
+    PriceBand(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public boolean contains(BigDecimal price) {
+        return (min == null || price.compareTo(min) >= 0)
+                && (max == null || price.compareTo(max) < 0);
+    }
+
+    public String getLabel() {
+        if (min == null) {
+            return "< " + max;
+        }
+        if (max == null) {
+            return min + "+";
+        }
+        return min + " - " + max;
+    }
+
+    public static PriceBand of(BigDecimal price) {
+        for (PriceBand band : values()) {
+            if (band.contains(price)) {
+                return band;
+            }
+        }
+        throw new IllegalArgumentException("No price band for " + price);
+    }
+}
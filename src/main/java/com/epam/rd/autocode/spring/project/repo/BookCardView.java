@@ -0,0 +1,15 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import java.math.BigDecimal;
+
+public interface BookCardView {
+    Long getId();
+    String getName();
+    String getAuthor();
+    String getGenre();
+    BigDecimal getPrice();
+    Integer getQuantity();
+    String getImageUrl();
+    String getSlug();
+    Integer getSalesCount();
+}
@@ -1,12 +1,27 @@
 package com.epam.rd.autocode.spring.project.repo;
 
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
 import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,12 +30,78 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     Optional<Book> findByName(String name);
 
-    void deleteByName(String name);
+    Optional<Book> findBySlug(String slug);
 
-    Page<Book> findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(String name, String author, Pageable pageable);
+    List<Book> findBySlugIsNull();
 
-    Page<Book> findByGenre(String genre, Pageable pageable);
+    String CARD_SELECT = "SELECT new com.epam.rd.autocode.spring.project.dto.BookCardDTO(" +
+            "b.id, b.name, b.author, b.genre, b.price, b.quantity, b.imageUrl, b.slug, b.salesCount) FROM Book b ";
+
+    @Query(value = CARD_SELECT, countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookCardDTO> findAllCards(Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE b.genre = :genre",
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE b.genre = :genre")
+    Page<BookCardDTO> findCardsByGenre(@Param("genre") String genre, Pageable pageable);
+
+    @Query(value = CARD_SELECT + "WHERE b.searchKey LIKE CONCAT('%', :keyword, '%')",
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE b.searchKey LIKE CONCAT('%', :keyword, '%')")
+    Page<BookCardDTO> findCardsByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(CARD_SELECT + "WHERE b.id IN :ids")
+    List<BookCardDTO> findCardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.epam.rd.autocode.spring.project.dto.BookStockDTO(" +
+            "b.id, b.name, b.price, b.quantity, b.imageUrl) " +
+            "FROM Book b WHERE b.id IN :ids")
+    List<BookStockDTO> findStockByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = CARD_SELECT + "WHERE " +
+            "(:keyword IS NULL OR b.searchKey LIKE CONCAT('%', :keyword, '%')) " +
+            "AND (:genre IS NULL OR b.genre = :genre) " +
+            "AND (:language IS NULL OR b.language = :language) " +
+            "AND (:ageGroup IS NULL OR b.ageGroup = :ageGroup) " +
+            "AND (:minPrice IS NULL OR b.price >= :minPrice) " +
+            "AND (:maxPrice IS NULL OR b.price < :maxPrice) " +
+            "AND (:fromPrice IS NULL OR b.price >= :fromPrice) " +
+            "AND (:toPrice IS NULL OR b.price <= :toPrice) " +
+            "AND (:inStock = false OR b.quantity > 0)",
+            countQuery = "SELECT COUNT(b) FROM Book b WHERE " +
+                    "(:keyword IS NULL OR b.searchKey LIKE CONCAT('%', :keyword, '%')) " +
+                    "AND (:genre IS NULL OR b.genre = :genre) " +
+                    "AND (:language IS NULL OR b.language = :language) " +
+                    "AND (:ageGroup IS NULL OR b.ageGroup = :ageGroup) " +
+                    "AND (:minPrice IS NULL OR b.price >= :minPrice) " +
+                    "AND (:maxPrice IS NULL OR b.price < :maxPrice) " +
+                    "AND (:fromPrice IS NULL OR b.price >= :fromPrice) " +
+                    "AND (:toPrice IS NULL OR b.price <= :toPrice) " +
+                    "AND (:inStock = false OR b.quantity > 0)")
+    Page<BookCardDTO> findCardsByFilter(@Param("keyword") String keyword,
+                            @Param("genre") String genre,
+                            @Param("language") Language language,
+                            @Param("ageGroup") AgeGroup ageGroup,
+                            @Param("minPrice") BigDecimal minPrice,
+                            @Param("maxPrice") BigDecimal maxPrice,
+                            @Param("fromPrice") BigDecimal fromPrice,
+                            @Param("toPrice") BigDecimal toPrice,
+                            @Param("inStock") boolean inStock,
+                            Pageable pageable);
+
+    Window<BookCardView> findCardsBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<BookCardView> findCardsByGenre(String genre, ScrollPosition position, Sort sort, Limit limit);
 
     @Query("SELECT DISTINCT b.genre FROM Book b")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = "genres")
+    })
     List<String> findAllGenres();
+
+    @Query("SELECT new com.epam.rd.autocode.spring.project.dto.GenreFacetDTO(b.genre, COUNT(b), " +
+            "SUM(CASE WHEN b.quantity > 0 THEN 1 ELSE 0 END)) " +
+            "FROM Book b WHERE b.genre IS NOT NULL GROUP BY b.genre ORDER BY b.genre")
+    List<GenreFacetDTO> findGenreFacets();
+
+    List<Book> findTop1000ByIdGreaterThanOrderByIdAsc(Long id);
 }
@@ -0,0 +1,17 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Cart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface CartRepository extends JpaRepository<Cart, String> {
+
+    @Query("SELECT c.updatedAt FROM Cart c WHERE c.ownerEmail = :ownerEmail")
+    Optional<LocalDateTime> findUpdatedAtByOwnerEmail(@Param("ownerEmail") String ownerEmail);
+}
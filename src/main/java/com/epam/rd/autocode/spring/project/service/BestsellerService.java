@@ -0,0 +1,11 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.BestsellerDTO;
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+
+import java.util.List;
+
+public interface BestsellerService {
+
+    List<BestsellerDTO> getBestsellers(BestsellerWindow window, String genre, int limit);
+}
@@ -0,0 +1,11 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.ImportJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface BookImportService {
+
+    ImportJobDTO startImport(MultipartFile file);
+
+    ImportJobDTO getImport(String id);
+}
@@ -1,24 +1,63 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
+import com.epam.rd.autocode.spring.project.dto.CursorPage;
+import com.epam.rd.autocode.spring.project.dto.FacetCountsDTO;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface BookService {
 
-    Page<BookDTO> getAllBooks(String keyword, String genre, Pageable pageable);
+    Page<BookCardDTO> getAllBooks(String keyword, String genre, Pageable pageable);
+
+    Page<BookCardDTO> getAllBooks(BookFilter filter, Pageable pageable);
+
+    FacetCountsDTO getFacetCounts(BookFilter filter);
+
+    PriceHistogramDTO getPriceHistogram();
+
+    CursorPage<BookCardDTO> getBooksByCursor(String genre, BookSortField sortField, Sort.Direction direction,
+                                             String cursor, int size);
 
     BookDTO getBookById(Long bookId);
 
+    Map<Long, BookStockDTO> getStock(Collection<Long> bookIds);
+
     BookDTO getBookByName(String name);
 
+    BookDTO getBookBySlug(String slug);
+
     BookDTO updateBook(Long id, BookDTO book);
 
+    BookDTO updateCover(Long id, String imageUrl);
+
     void deleteBookByName(String name);
 
     BookDTO addBook(BookDTO book);
 
     List<String> getAllGenres();
+
+    List<GenreFacetDTO> getGenreFacets();
+
+    List<String> getSuggestions(String query, int limit);
+
+    Optional<String> getSpellingCorrection(BookFilter filter);
+
+    List<BookCardDTO> getFrequentlyBoughtTogether(Long bookId);
+
+    long getCatalogVersion();
+
+    Optional<Long> getBookVersion(String slug);
 }
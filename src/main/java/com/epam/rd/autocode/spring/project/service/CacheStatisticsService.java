@@ -0,0 +1,8 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.CacheStatisticsDTO;
+
+public interface CacheStatisticsService {
+
+    CacheStatisticsDTO getStatistics();
+}
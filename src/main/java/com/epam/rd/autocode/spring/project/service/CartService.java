@@ -1,23 +1,25 @@
 package com.epam.rd.autocode.spring.project.service;
 
 import com.epam.rd.autocode.spring.project.dto.CartItem;
-import jakarta.servlet.http.HttpSession;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CartService {
 
-    List<CartItem> getCart(HttpSession session);
+    List<CartItem> getCart(String owner);
 
-    void addItem(HttpSession session, Long bookId, int quantity);
+    void addItem(String owner, Long bookId, int quantity);
 
-    void removeItem(HttpSession session, Long bookId);
+    void removeItem(String owner, Long bookId);
 
-    void updateItemQuantity(HttpSession session, Long bookId, int quantity);
+    void updateItemQuantity(String owner, Long bookId, int quantity);
 
     BigDecimal calculateTotal(List<CartItem> cart);
 
-    void clearCart(HttpSession session);
+    void clearCart(String owner);
+
+    boolean checkout(String owner, Consumer<List<CartItem>> placeOrder);
 
 }
@@ -0,0 +1,14 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+
+import java.util.List;
+
+public interface CartStore {
+
+    List<CartLine> load(String owner);
+
+    void save(String owner, List<CartLine> lines);
+
+    void clear(String owner);
+}
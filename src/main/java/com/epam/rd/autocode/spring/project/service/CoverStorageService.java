@@ -0,0 +1,13 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+public interface CoverStorageService {
+
+    String storeCover(MultipartFile file);
+
+    Optional<Path> resolve(String fileName, boolean thumbnail);
+}
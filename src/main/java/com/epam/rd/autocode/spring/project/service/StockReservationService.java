@@ -0,0 +1,10 @@
+package com.epam.rd.autocode.spring.project.service;
+
+public interface StockReservationService {
+
+    int reserve(String owner, Long bookId, int quantity, int stock);
+
+    void release(String owner, Long bookId);
+
+    int getReserved(Long bookId);
+}
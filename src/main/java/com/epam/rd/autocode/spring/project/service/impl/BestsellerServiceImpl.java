@@ -0,0 +1,202 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.BestsellerDTO;
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
+import com.epam.rd.autocode.spring.project.index.SlidingSalesCounter;
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.BestsellerService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BestsellerServiceImpl implements BestsellerService {
+
+    private static final String ALL_GENRES = "";
+    private static final String BACKFILL_SQL = "SELECT o.id, o.order_date, bi.book_id, b.genre, bi.quantity "
+            + "FROM book_items bi JOIN orders o ON o.id = bi.order_id JOIN books b ON b.id = bi.book_id "
+            + "WHERE o.status <> 'CANCELED'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BookRepository bookRepository;
+    private final Clock clock;
+    private final int capacity;
+    private final int maxGenres;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<BestsellerWindow, Map<String, SlidingSalesCounter>> counters;
+    private List<SalesRecordedEvent> pendingEvents;
+
+    public BestsellerServiceImpl(JdbcTemplate jdbcTemplate,
+                                 BookRepository bookRepository,
+                                 Clock clock,
+                                 @Value("${bookstore.bestsellers.capacity:200}") int capacity,
+                                 @Value("${bookstore.bestsellers.max-genres:100}") int maxGenres) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookRepository = bookRepository;
+        this.clock = clock;
+        this.capacity = capacity;
+        this.maxGenres = maxGenres;
+        this.counters = emptyCounters();
+    }
+
+    @Override
+    public List<BestsellerDTO> getBestsellers(BestsellerWindow window, String genre, int limit) {
+        List<Map.Entry<Long, Long>> ranking;
+        lock.readLock().lock();
+        try {
+            SlidingSalesCounter counter = counters.get(window).get(scope(genre));
+            if (counter == null) {
+                return List.of();
+            }
+            ranking = counter.top(clock.instant(), Math.max(1, Math.min(limit, capacity)));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, BookCardDTO> cards = bookRepository.findCardsByIdIn(ranking.stream().map(Map.Entry::getKey).toList())
+                .stream()
+                .collect(Collectors.toMap(BookCardDTO::getId, Function.identity()));
+        List<BestsellerDTO> bestsellers = new ArrayList<>();
+        for (Map.Entry<Long, Long> entry : ranking) {
+            BookCardDTO card = cards.get(entry.getKey());
+            if (card != null) {
+                bestsellers.add(new BestsellerDTO(card.getId(), card.getName(), card.getAuthor(), card.getSlug(),
+                        entry.getValue()));
+            }
+        }
+        return bestsellers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "bestseller-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Set<Long> backfilledOrders = new HashSet<>();
+        Map<BestsellerWindow, Map<String, SlidingSalesCounter>> rebuilt = emptyCounters();
+        boolean success = false;
+        try {
+            jdbcTemplate.query(BACKFILL_SQL, rs -> {
+                backfilledOrders.add(rs.getLong(1));
+                Timestamp orderDate = rs.getTimestamp(2);
+                Instant at = orderDate != null ? orderDate.toInstant() : Instant.EPOCH;
+                record(rebuilt, at, rs.getLong(3), rs.getString(4), rs.getInt(5), false);
+            });
+            success = true;
+            log.info("Bestseller leaderboard rebuilt from {} orders", backfilledOrders.size());
+        } catch (RuntimeException e) {
+            log.error("Bestseller leaderboard rebuild failed, keeping live counts only", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (success) {
+                    counters = rebuilt;
+                }
+                for (SalesRecordedEvent event : pendingEvents) {
+                    if (!success || backfilledOrders.contains(event.orderId()) == event.reversal()) {
+                        apply(counters, event);
+                    }
+                }
+                pendingEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSalesRecorded(SalesRecordedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (pendingEvents != null) {
+                pendingEvents.add(event);
+            } else {
+                apply(counters, event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(Map<BestsellerWindow, Map<String, SlidingSalesCounter>> target, SalesRecordedEvent event) {
+        LocalDateTime orderDate = event.orderDate() != null ? event.orderDate() : LocalDateTime.now(clock);
+        Instant at = orderDate.atZone(clock.getZone()).toInstant();
+        for (OrderLine line : event.lines()) {
+            record(target, at, line.bookId(), line.genre(), line.quantity(), event.reversal());
+        }
+    }
+
+    private void record(Map<BestsellerWindow, Map<String, SlidingSalesCounter>> target, Instant at,
+                        long bookId, String genre, int units, boolean reversal) {
+        for (Map.Entry<BestsellerWindow, Map<String, SlidingSalesCounter>> entry : target.entrySet()) {
+            Map<String, SlidingSalesCounter> scopes = entry.getValue();
+            update(counter(scopes, entry.getKey(), ALL_GENRES), at, bookId, units, reversal);
+            if (genre != null && !genre.isBlank()) {
+                update(counter(scopes, entry.getKey(), genre), at, bookId, units, reversal);
+            }
+        }
+    }
+
+    private SlidingSalesCounter counter(Map<String, SlidingSalesCounter> scopes, BestsellerWindow window, String scope) {
+        SlidingSalesCounter counter = scopes.get(scope);
+        if (counter == null && (ALL_GENRES.equals(scope) || scopes.size() <= maxGenres)) {
+            counter = new SlidingSalesCounter(window, capacity);
+            scopes.put(scope, counter);
+        }
+        return counter;
+    }
+
+    private void update(SlidingSalesCounter counter, Instant at, long bookId, int units, boolean reversal) {
+        if (counter == null) {
+            return;
+        }
+        if (reversal) {
+            counter.subtract(at, bookId, units);
+        } else {
+            counter.add(at, bookId, units);
+        }
+    }
+
+    private String scope(String genre) {
+        return genre == null || genre.isBlank() ? ALL_GENRES : genre;
+    }
+
+    private Map<BestsellerWindow, Map<String, SlidingSalesCounter>> emptyCounters() {
+        Map<BestsellerWindow, Map<String, SlidingSalesCounter>> empty = new EnumMap<>(BestsellerWindow.class);
+        for (BestsellerWindow window : BestsellerWindow.values()) {
+            empty.put(window, new HashMap<>());
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+
+record BookCursor(boolean forward, BookSortField sortField, Sort.Direction direction, Long id, Object sortValue) {
+
+    private static final String SEPARATOR = "|";
+
+    static BookCursor at(BookCardDTO card, boolean forward, BookSortField sortField, Sort.Direction direction) {
+        Object value = new BeanWrapperImpl(card).getPropertyValue(sortField.getProperty());
+        return new BookCursor(forward, sortField, direction, card.getId(), value);
+    }
+
+    static Optional<BookCursor> decode(String token, BookSortField sortField, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5
+                    || !sortField.name().equals(parts[1])
+                    || !direction.name().equals(parts[2])) {
+                return Optional.empty();
+            }
+            return Optional.of(new BookCursor("F".equals(parts[0]), sortField, direction,
+                    Long.valueOf(parts[3]), sortField.parse(parts[4])));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    String encode() {
+        String raw = String.join(SEPARATOR, forward ? "F" : "B", sortField.name(), direction.name(),
+                String.valueOf(id), String.valueOf(sortValue));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    ScrollPosition toScrollPosition() {
+        Map<String, Object> keys = Map.of(sortField.getProperty(), sortValue, "id", id);
+        return forward ? ScrollPosition.forward(keys) : ScrollPosition.backward(keys);
+    }
+}
@@ -0,0 +1,125 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.ExportFormat;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.service.BookExportService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BookExportServiceImpl implements BookExportService {
+
+    static final String EXPORT_SQL = "SELECT id, name, slug, genre, author, price, quantity, language, age_group, "
+            + "publication_year, number_of_pages, image_url, characteristics, description FROM books ORDER BY id";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("id")
+            .addColumn("name")
+            .addColumn("slug")
+            .addColumn("genre")
+            .addColumn("author")
+            .addColumn("price")
+            .addColumn("quantity")
+            .addColumn("language")
+            .addColumn("ageGroup")
+            .addColumn("publicationDate")
+            .addColumn("pages")
+            .addColumn("imageUrl")
+            .addColumn("characteristics")
+            .addColumn("description")
+            .build()
+            .withHeader();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${bookstore.export.fetch-size:500}")
+    private int fetchSize;
+
+    @Override
+    public long exportCatalog(ExportFormat format, OutputStream out) throws IOException {
+        AtomicLong exported = new AtomicLong();
+        try (SequenceWriter writer = open(format, out)) {
+            jdbcTemplate.query(connection -> {
+                var statement = connection.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    writer.write(toBook(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exported.incrementAndGet();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        log.info("Exported {} books as {}", exported.get(), format);
+        return exported.get();
+    }
+
+    private SequenceWriter open(ExportFormat format, OutputStream out) throws IOException {
+        if (format == ExportFormat.CSV) {
+            return CSV_MAPPER.writerFor(BookDTO.class)
+                    .with(CSV_SCHEMA)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValues(out);
+        }
+        return objectMapper.writerFor(BookDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out);
+    }
+
+    private BookDTO toBook(ResultSet rs) throws SQLException {
+        BookDTO book = new BookDTO();
+        book.setId(rs.getLong("id"));
+        book.setName(rs.getString("name"));
+        book.setSlug(rs.getString("slug"));
+        book.setGenre(rs.getString("genre"));
+        book.setAuthor(rs.getString("author"));
+        book.setPrice(rs.getBigDecimal("price"));
+        book.setQuantity(rs.getObject("quantity", Integer.class));
+        String language = rs.getString("language");
+        book.setLanguage(language != null ? Language.valueOf(language) : null);
+        String ageGroup = rs.getString("age_group");
+        book.setAgeGroup(ageGroup != null ? AgeGroup.valueOf(ageGroup) : null);
+        Date publicationDate = rs.getDate("publication_year");
+        book.setPublicationDate(publicationDate != null ? publicationDate.toLocalDate() : null);
+        book.setPages(rs.getObject("number_of_pages", Integer.class));
+        book.setImageUrl(rs.getString("image_url"));
+        book.setCharacteristics(rs.getString("characteristics"));
+        book.setDescription(rs.getString("description"));
+        return book;
+    }
+}
@@ -0,0 +1,381 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.ImportErrorDTO;
+import com.epam.rd.autocode.spring.project.dto.ImportJobDTO;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.ImportStatus;
+import com.epam.rd.autocode.spring.project.service.BookImportService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BookImportServiceImpl implements BookImportService {
+
+    static final String MERGE_SQL = "MERGE INTO books (name, genre, age_group, price, publication_year, author, "
+            + "number_of_pages, characteristics, description, language, image_url, quantity, search_key) KEY (name) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long FINISHED_JOB_TTL_HOURS = 24;
+
+    private enum Format { CSV, JSON }
+
+    private record ImportRow(long row, BookDTO book) {
+    }
+
+    private interface RowReader extends Closeable {
+        JsonNode next() throws IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final BookSlugAssigner bookSlugAssigner;
+    private final CatalogIndexManager catalogIndexManager;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${bookstore.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${bookstore.import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${bookstore.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public ImportJobDTO startImport(MultipartFile file) {
+        Format format = detectFormat(file);
+        Path upload;
+        try {
+            upload = Files.createTempFile("book-import-", "." + format.name().toLowerCase());
+            file.transferTo(upload);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store uploaded file", e);
+        }
+
+        LocalDateTime expiry = LocalDateTime.now().minusHours(FINISHED_JOB_TTL_HOURS);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename());
+        jobs.put(job.id, job);
+        coordinator.execute(() -> run(job, upload, format));
+        return job.toDto();
+    }
+
+    @Override
+    public ImportJobDTO getImport(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException("Import not found: " + id);
+        }
+        return job.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+    }
+
+    private void run(ImportJob job, Path upload, Format format) {
+        job.status = ImportStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism);
+        ImportStatus outcome = ImportStatus.FAILED;
+        try (InputStream in = Files.newInputStream(upload); RowReader reader = open(format, in)) {
+            List<ImportRow> batch = new ArrayList<>(batchSize);
+            long row = 0;
+            for (JsonNode node = reader.next(); node != null; node = reader.next()) {
+                row++;
+                job.processedRows.incrementAndGet();
+                BookDTO book = toBook(job, row, node);
+                if (book == null) {
+                    continue;
+                }
+                batch.add(new ImportRow(row, book));
+                if (batch.size() == batchSize) {
+                    submit(workers, inFlight, job, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(workers, inFlight, job, batch);
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            outcome = ImportStatus.COMPLETED;
+        } catch (IOException | RuntimeException e) {
+            log.error("Book import {} failed", job.id, e);
+            job.fail(0, "Import aborted: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+            deleteQuietly(upload);
+        }
+
+        try {
+            if (job.importedRows.get() > 0) {
+                refreshCatalog();
+            }
+        } catch (RuntimeException e) {
+            log.error("Catalog refresh after book import {} failed", job.id, e);
+        }
+        job.finish(outcome);
+        log.info("Book import {} {}: {} imported, {} failed", job.id, outcome, job.importedRows, job.failedRows);
+    }
+
+    private void deleteQuietly(Path upload) {
+        try {
+            Files.deleteIfExists(upload);
+        } catch (IOException e) {
+            log.warn("Could not delete import upload {}", upload, e);
+        }
+    }
+
+    private void submit(ExecutorService workers, Semaphore inFlight, ImportJob job, List<ImportRow> batch)
+            throws InterruptedException {
+        inFlight.acquire();
+        workers.execute(() -> {
+            try {
+                writeBatch(job, batch);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void writeBatch(ImportJob job, List<ImportRow> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(MERGE_SQL, batch, batch.size(), (ps, row) -> bind(ps, row.book())));
+            job.importedRows.addAndGet(batch.size());
+        } catch (DataAccessException e) {
+            for (ImportRow row : batch) {
+                writeRow(job, row);
+            }
+        }
+    }
+
+    private void writeRow(ImportJob job, ImportRow row) {
+        try {
+            jdbcTemplate.update(MERGE_SQL, ps -> bind(ps, row.book()));
+            job.importedRows.incrementAndGet();
+        } catch (DataAccessException e) {
+            job.fail(row.row(), e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void bind(PreparedStatement ps, BookDTO book) throws SQLException {
+        ps.setString(1, book.getName().trim());
+        ps.setString(2, book.getGenre());
+        ps.setString(3, book.getAgeGroup() != null ? book.getAgeGroup().name() : null);
+        ps.setBigDecimal(4, book.getPrice());
+        ps.setDate(5, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
+        ps.setString(6, book.getAuthor());
+        if (book.getPages() != null) {
+            ps.setInt(7, book.getPages());
+        } else {
+            ps.setNull(7, Types.INTEGER);
+        }
+        ps.setString(8, book.getCharacteristics());
+        ps.setString(9, book.getDescription());
+        ps.setString(10, book.getLanguage() != null ? book.getLanguage().name() : null);
+        ps.setString(11, book.getImageUrl());
+        ps.setInt(12, book.getQuantity());
+        ps.setString(13, TextNormalizer.searchKey(book.getName(), book.getAuthor()));
+    }
+
+    private BookDTO toBook(ImportJob job, long row, JsonNode node) {
+        BookDTO book;
+        try {
+            book = objectMapper.convertValue(node, BookDTO.class);
+        } catch (IllegalArgumentException e) {
+            job.fail(row, "Unreadable values: " + e.getMessage());
+            return null;
+        }
+        Set<ConstraintViolation<BookDTO>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            job.fail(row, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return book;
+    }
+
+    private void refreshCatalog() {
+        int slugs = bookSlugAssigner.assignMissingSlugsInBulk();
+        log.info("Assigned slugs to {} imported books", slugs);
+        entityManagerFactory.getCache().evict(Book.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        catalogIndexManager.rebuild();
+        catalogVersionTracker.bumpAll();
+    }
+
+    private Format detectFormat(MultipartFile file) {
+        String name = Optional.ofNullable(file.getOriginalFilename()).orElse("").toLowerCase();
+        String contentType = Optional.ofNullable(file.getContentType()).orElse("");
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".json") || contentType.startsWith("application/json")) {
+            return Format.JSON;
+        }
+        throw new IllegalArgumentException("Unsupported import format, expected CSV or JSON");
+    }
+
+    private RowReader open(Format format, InputStream in) throws IOException {
+        return format == Format.CSV ? openCsv(in) : openJson(in);
+    }
+
+    private RowReader openCsv(InputStream in) throws IOException {
+        MappingIterator<JsonNode> rows = new CsvMapper()
+                .readerFor(JsonNode.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .readValues(in);
+        return new RowReader() {
+            @Override
+            public JsonNode next() throws IOException {
+                try {
+                    if (!rows.hasNextValue()) {
+                        return null;
+                    }
+                    ObjectNode node = (ObjectNode) rows.nextValue();
+                    node.properties().removeIf(field -> field.getValue().asText().isBlank());
+                    return node;
+                } catch (RuntimeException e) {
+                    if (e.getCause() instanceof IOException io) {
+                        throw io;
+                    }
+                    throw e;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                rows.close();
+            }
+        };
+    }
+
+    private RowReader openJson(InputStream in) throws IOException {
+        JsonParser parser = objectMapper.getFactory().createParser(in);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IllegalArgumentException("JSON import must be an array of books");
+        }
+        return new RowReader() {
+            @Override
+            public JsonNode next() throws IOException {
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    return null;
+                }
+                return objectMapper.readTree(parser);
+            }
+
+            @Override
+            public void close() throws IOException {
+                parser.close();
+            }
+        };
+    }
+
+    private final class ImportJob {
+        private final String id;
+        private final String fileName;
+        private final AtomicLong processedRows = new AtomicLong();
+        private final AtomicLong importedRows = new AtomicLong();
+        private final AtomicLong failedRows = new AtomicLong();
+        private final List<ImportErrorDTO> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile ImportStatus status = ImportStatus.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private ImportJob(String id, String fileName) {
+            this.id = id;
+            this.fileName = fileName;
+        }
+
+        private void fail(long row, String message) {
+            if (row > 0) {
+                failedRows.incrementAndGet();
+            }
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorDTO(row, message));
+            }
+        }
+
+        private void finish(ImportStatus finalStatus) {
+            status = finalStatus;
+            finishedAt = LocalDateTime.now();
+        }
+
+        private ImportJobDTO toDto() {
+            List<ImportErrorDTO> snapshot;
+            synchronized (errors) {
+                snapshot = new ArrayList<>(errors);
+            }
+            snapshot.sort(Comparator.comparingLong(ImportErrorDTO::getRow));
+            return new ImportJobDTO(id, fileName, status, processedRows.get(), importedRows.get(), failedRows.get(),
+                    startedAt, finishedAt, snapshot);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookNameDeduplicator {
+
+    static final String NAME_CONSTRAINT = "uk_books_name";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void enforceUniqueNames() {
+        Set<String> taken = new HashSet<>(jdbcTemplate.queryForList("SELECT DISTINCT name FROM books", String.class));
+        List<Object[]> renames = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name, author FROM (SELECT id, name, author, "
+                + "ROW_NUMBER() OVER (PARTITION BY name ORDER BY id) AS occurrence FROM books) "
+                + "WHERE occurrence > 1 ORDER BY name, id", (RowCallbackHandler) rs -> {
+            String name = rs.getString("name");
+            String renamed = name;
+            for (int suffix = 2; taken.contains(renamed); suffix++) {
+                renamed = name + " (" + suffix + ")";
+            }
+            taken.add(renamed);
+            renames.add(new Object[] {renamed, TextNormalizer.searchKey(renamed, rs.getString("author")), rs.getLong("id")});
+        });
+        if (!renames.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE books SET name = ?, search_key = ? WHERE id = ?", renames);
+            log.warn("Renamed {} books whose names duplicated an older book", renames.size());
+        }
+        jdbcTemplate.execute("ALTER TABLE books ADD CONSTRAINT IF NOT EXISTS " + NAME_CONSTRAINT + " UNIQUE (name)");
+    }
+}
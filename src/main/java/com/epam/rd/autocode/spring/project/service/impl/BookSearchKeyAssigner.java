@@ -0,0 +1,39 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookSearchKeyAssigner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refreshSearchKeys() {
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name, author, search_key FROM books", (RowCallbackHandler) rs -> {
+            String searchKey = TextNormalizer.searchKey(rs.getString("name"), rs.getString("author"));
+            if (!searchKey.equals(rs.getString("search_key"))) {
+                updates.add(new Object[] {searchKey, rs.getLong("id")});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE books SET search_key = ? WHERE id = ?", updates);
+            log.info("Refreshed search keys of {} books", updates.size());
+        }
+    }
+}
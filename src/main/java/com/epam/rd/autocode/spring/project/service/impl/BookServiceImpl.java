@@ -1,103 +1,416 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
+import com.epam.rd.autocode.spring.project.dto.CursorPage;
+import com.epam.rd.autocode.spring.project.dto.FacetCountsDTO;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.BookFacetIndex;
+import com.epam.rd.autocode.spring.project.index.BookLookupIndex;
+import com.epam.rd.autocode.spring.project.index.BookOrdinals;
+import com.epam.rd.autocode.spring.project.index.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.index.CoPurchaseIndex;
+import com.epam.rd.autocode.spring.project.index.GenreFacetIndex;
+import com.epam.rd.autocode.spring.project.index.PriceIndex;
+import com.epam.rd.autocode.spring.project.index.SpellingIndex;
+import com.epam.rd.autocode.spring.project.index.SuggestionIndex;
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
 import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import com.epam.rd.autocode.spring.project.repo.BookCardView;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.service.BookService;
+import com.epam.rd.autocode.spring.project.service.StockReservationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookServiceImpl implements BookService {
+    private static final Sort DEFAULT_SORT = Sort.by("name").and(Sort.by("id"));
+
     private final BookRepository bookRepository;
-    private final ModelMapper modelMapper;
+    private final BookMapper bookMapper;
+    private final BookSearchIndex bookSearchIndex;
+    private final GenreFacetIndex genreFacetIndex;
+    private final BookFacetIndex bookFacetIndex;
+    private final SuggestionIndex suggestionIndex;
+    private final SpellingIndex spellingIndex;
+    private final PriceIndex priceIndex;
+    private final BookOrdinals bookOrdinals;
+    private final BookLookupIndex bookLookupIndex;
+    private final BookSlugAssigner bookSlugAssigner;
+    private final CatalogIndexManager catalogIndexManager;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockReservationService stockReservationService;
+
+    @Override
+    public Page<BookCardDTO> getAllBooks(String keyword, String genre, Pageable pageable) {
+        return getAllBooks(new BookFilter(keyword, genre), pageable);
+    }
+
+    @Override
+    public Page<BookCardDTO> getAllBooks(BookFilter filter, Pageable pageable) {
+        Page<BookCardDTO> cards = findCards(filter, pageable);
+        cards.forEach(this::applyReservations);
+        return cards;
+    }
+
+    private Page<BookCardDTO> findCards(BookFilter filter, Pageable pageable) {
+        if (catalogIndexManager.isReady() && (filter.hasKeyword() || filter.hasFacets())) {
+            return findIndexed(filter, pageable);
+        }
+        if (filter.hasKeyword() && pageable.getSort().isUnsorted()) {
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), DEFAULT_SORT);
+        }
+        if (filter.isGenreOnly()) {
+            return bookRepository.findCardsByGenre(filter.getGenre(), pageable);
+        } else if (filter.isKeywordOnly()) {
+            return bookRepository.findCardsByKeyword(TextNormalizer.searchKey(filter.getKeyword()), pageable);
+        } else if (filter.hasKeyword() || filter.hasFacets()) {
+            PriceBand band = filter.getPriceBand();
+            return bookRepository.findCardsByFilter(
+                    filter.hasKeyword() ? TextNormalizer.searchKey(filter.getKeyword()) : null,
+                    filter.hasGenre() ? filter.getGenre() : null,
+                    filter.getLanguage(), filter.getAgeGroup(),
+                    band != null ? band.getMin() : null, band != null ? band.getMax() : null,
+                    filter.getMinPrice(), filter.getMaxPrice(),
+                    filter.isInStock(), pageable);
+        }
+        return bookRepository.findAllCards(pageable);
+    }
 
+    @Override
+    public FacetCountsDTO getFacetCounts(BookFilter filter) {
+        if (!catalogIndexManager.isReady()) {
+            return null;
+        }
+        return bookFacetIndex.count(filter, candidates(filter, keywordMatches(filter)));
+    }
 
+    @Override
+    public PriceHistogramDTO getPriceHistogram() {
+        if (!catalogIndexManager.isReady()) {
+            return null;
+        }
+        return priceIndex.histogram();
+    }
 
     @Override
-    public Page<BookDTO> getAllBooks(String keyword, String genre, Pageable pageable) {
-        Page<Book> bookPage;
+    public CursorPage<BookCardDTO> getBooksByCursor(String genre, BookSortField sortField, Sort.Direction direction,
+                                                    String cursor, int size) {
+        Optional<BookCursor> position = BookCursor.decode(cursor, sortField, direction);
+        ScrollPosition scrollPosition = position.map(BookCursor::toScrollPosition)
+                .orElseGet(ScrollPosition::keyset);
+        Sort sort = Sort.by(direction, sortField.getProperty()).and(Sort.by(direction, "id"));
 
-        if (genre != null && !genre.isEmpty()){
-            bookPage = bookRepository.findByGenre(genre, pageable);
-        }else if (keyword != null && !keyword.isEmpty()) {
-            bookPage = bookRepository.findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable);
-        } else {
+        Window<BookCardView> views = (genre != null && !genre.isEmpty())
+                ? bookRepository.findCardsByGenre(genre, scrollPosition, sort, Limit.of(size))
+                : bookRepository.findCardsBy(scrollPosition, sort, Limit.of(size));
+        Window<BookCardDTO> window = views.map(this::toCard);
 
-            bookPage = bookRepository.findAll(pageable);
+        List<BookCardDTO> books = window.getContent();
+        if (books.isEmpty()) {
+            return new CursorPage<>(List.of(), null, null);
         }
 
-        return bookPage.map(book -> modelMapper.map(book, BookDTO.class));
+        boolean forward = position.map(BookCursor::forward).orElse(true);
+        boolean hasPrevious = forward ? position.isPresent() : window.hasNext();
+        boolean hasNext = !forward || window.hasNext();
+
+        String previousCursor = hasPrevious
+                ? BookCursor.at(books.get(0), false, sortField, direction).encode() : null;
+        String nextCursor = hasNext
+                ? BookCursor.at(books.get(books.size() - 1), true, sortField, direction).encode() : null;
+
+        books.forEach(this::applyReservations);
+        return new CursorPage<>(books, previousCursor, nextCursor);
     }
 
     @Override
     public BookDTO getBookById(Long bookId) {
         Book book = bookRepository.findById(bookId)
                 .orElseThrow(() -> new NotFoundException("Book not found with ID: " + bookId));
-        return modelMapper.map(book, BookDTO.class);
+        return bookMapper.toDto(book);
+    }
+
+    @Override
+    public Map<Long, BookStockDTO> getStock(Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, BookStockDTO> stock = new HashMap<>();
+        bookRepository.findStockByIdIn(bookIds).forEach(entry -> stock.put(entry.getId(), entry));
+        return stock;
     }
 
     @Override
     public BookDTO getBookByName(String name) {
-        Book book = bookRepository.findByName(name)
+        Book book = findBookByName(name)
                 .orElseThrow(() -> new NotFoundException("Book not found with name: " + name));
-        return modelMapper.map(book, BookDTO.class);
+        return bookMapper.toDto(book);
+    }
+
+    @Override
+    public BookDTO getBookBySlug(String slug) {
+        Optional<Book> book = catalogIndexManager.isReady()
+                ? bookLookupIndex.findIdBySlug(slug)
+                        .or(() -> bookLookupIndex.findIdByName(slug))
+                        .flatMap(bookRepository::findById)
+                : bookRepository.findBySlug(slug).or(() -> bookRepository.findByName(slug));
+        BookDTO dto = bookMapper.toDto(book.orElseThrow(() -> new NotFoundException("Book not found: " + slug)));
+        if (dto.getQuantity() != null) {
+            dto.setQuantity(Math.max(0, dto.getQuantity() - stockReservationService.getReserved(dto.getId())));
+        }
+        return dto;
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('EMPLOYEE')")
     public BookDTO addBook(BookDTO bookDTO) {
-        if (bookRepository.findByName(bookDTO.getName()).isPresent()){
+        if (findBookByName(bookDTO.getName()).isPresent()){
             throw new AlreadyExistException("Book already exists with name: " + bookDTO.getName());
         }
-        Book book = modelMapper.map(bookDTO, Book.class);
-        Book saveBook = bookRepository.save(book);
+        Book book = bookMapper.toEntity(bookDTO);
+        bookSlugAssigner.assign(book);
+        Book saveBook = saveUniquelyNamed(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(saveBook));
         log.info("Add new book: {}", saveBook.getName());
-        return modelMapper.map(saveBook, BookDTO.class);
+        return bookMapper.toDto(saveBook);
     }
 
     @Override
     public List<String> getAllGenres() {
+        if (catalogIndexManager.isReady()) {
+            return genreFacetIndex.getGenres();
+        }
         return bookRepository.findAllGenres();
     }
 
+    @Override
+    public List<GenreFacetDTO> getGenreFacets() {
+        if (catalogIndexManager.isReady()) {
+            return genreFacetIndex.getFacets();
+        }
+        return bookRepository.findGenreFacets();
+    }
+
+    @Override
+    public List<String> getSuggestions(String query, int limit) {
+        if (!catalogIndexManager.isReady()) {
+            return List.of();
+        }
+        return suggestionIndex.suggest(query, limit);
+    }
+
+    @Override
+    public Optional<String> getSpellingCorrection(BookFilter filter) {
+        if (!filter.hasKeyword() || !catalogIndexManager.isReady()) {
+            return Optional.empty();
+        }
+        return spellingIndex.correct(filter.getKeyword())
+                .filter(corrected -> {
+                    BookFilter correctedFilter = new BookFilter(corrected, filter.getGenre(), filter.getLanguage(),
+                            filter.getAgeGroup(), filter.getPriceBand(), filter.isInStock(),
+                            filter.getMinPrice(), filter.getMaxPrice());
+                    return !bookFacetIndex.match(correctedFilter,
+                            candidates(correctedFilter, keywordMatches(correctedFilter))).isEmpty();
+                });
+    }
+
+    @Override
+    public List<BookCardDTO> getFrequentlyBoughtTogether(Long bookId) {
+        List<BookCardDTO> cards = findAllInOrder(coPurchaseIndex.neighbours(bookId));
+        cards.forEach(this::applyReservations);
+        return cards;
+    }
+
+    @Override
+    public long getCatalogVersion() {
+        return catalogVersionTracker.getCatalogVersion();
+    }
+
+    @Override
+    public Optional<Long> getBookVersion(String slug) {
+        if (!catalogIndexManager.isReady()) {
+            return Optional.empty();
+        }
+        return bookLookupIndex.findIdBySlug(slug).map(this::getDetailsVersion);
+    }
+
+    private long getDetailsVersion(Long bookId) {
+        long version = catalogVersionTracker.getBookVersion(bookId);
+        for (Long neighbour : coPurchaseIndex.neighbours(bookId)) {
+            version = 31 * (31 * version + neighbour) + catalogVersionTracker.getBookVersion(neighbour);
+        }
+        return version;
+    }
+
     @Override
     @Transactional
     public BookDTO updateBook(Long id, BookDTO bookDTO) {
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Book not found with id: " + id));
 
-        modelMapper.map(bookDTO, existingBook);
+        String previousName = existingBook.getName();
+        if (bookDTO.getName() != null && !bookDTO.getName().equals(previousName)) {
+            findBookByName(bookDTO.getName())
+                    .filter(other -> !other.getId().equals(id))
+                    .ifPresent(other -> {
+                        throw new AlreadyExistException("Book already exists with name: " + bookDTO.getName());
+                    });
+        }
+
+        bookMapper.updateEntity(bookDTO, existingBook);
         existingBook.setId(id);
+        if (existingBook.getSlug() == null || !existingBook.getName().equals(previousName)) {
+            bookSlugAssigner.assign(existingBook);
+        }
 
 
-        Book updatedBook = bookRepository.save(existingBook);
+        Book updatedBook = saveUniquelyNamed(existingBook);
+        eventPublisher.publishEvent(BookChangedEvent.saved(updatedBook));
         log.info("Update book: {}", existingBook.getName());
-        return modelMapper.map(updatedBook, BookDTO.class);
+        return bookMapper.toDto(updatedBook);
+    }
+
+    @Override
+    @Transactional
+    public BookDTO updateCover(Long id, String imageUrl) {
+        Book book = bookRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Book not found with id: " + id));
+        book.setImageUrl(imageUrl);
+        Book updatedBook = bookRepository.save(book);
+        eventPublisher.publishEvent(BookChangedEvent.saved(updatedBook));
+        log.info("Update cover of book: {}", book.getName());
+        return bookMapper.toDto(updatedBook);
     }
 
     @Override
     @Transactional
     @PreAuthorize("hasRole('EMPLOYEE')")
     public void deleteBookByName(String name) {
-        Book book = bookRepository.findByName(name)
+        Book book = findBookByName(name)
                 .orElseThrow(() -> new NotFoundException("Book not found with name: " + name));
         log.info("Delete book: {}", book.getName());
-        bookRepository.deleteByName(name);
+        bookRepository.delete(book);
+        eventPublisher.publishEvent(BookChangedEvent.deleted(book.getId()));
+    }
+
+    private Book saveUniquelyNamed(Book book) {
+        try {
+            return bookRepository.saveAndFlush(book);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (cause.toLowerCase().contains(BookNameDeduplicator.NAME_CONSTRAINT)) {
+                throw new AlreadyExistException("Book already exists with name: " + book.getName());
+            }
+            throw e;
+        }
     }
 
+    private Optional<Book> findBookByName(String name) {
+        if (catalogIndexManager.isReady()) {
+            return bookLookupIndex.findIdByName(name).flatMap(bookRepository::findById);
+        }
+        return bookRepository.findByName(name);
+    }
+
+    private Page<BookCardDTO> findIndexed(BookFilter filter, Pageable pageable) {
+        List<Long> rankedIds = keywordMatches(filter);
+        BitSet matches = bookFacetIndex.match(filter, candidates(filter, rankedIds));
+
+        if (rankedIds == null || pageable.getSort().isSorted()) {
+            List<Long> pageIds = bookFacetIndex.sortedPage(matches, pageable.getSort(),
+                    pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(findAllInOrder(pageIds), pageable, matches.cardinality());
+        }
+
+        List<Long> matchingIds = rankedIds.stream()
+                .filter(id -> {
+                    int ordinal = bookOrdinals.find(id);
+                    return ordinal >= 0 && matches.get(ordinal);
+                })
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), matchingIds.size());
+        int to = Math.min(from + pageable.getPageSize(), matchingIds.size());
+        return new PageImpl<>(findAllInOrder(matchingIds.subList(from, to)), pageable, matchingIds.size());
+    }
+
+    private List<Long> keywordMatches(BookFilter filter) {
+        return filter.hasKeyword() ? bookSearchIndex.search(filter.getKeyword()) : null;
+    }
+
+    private BitSet candidates(BookFilter filter, List<Long> keywordMatches) {
+        BitSet candidates = keywordMatches != null ? bookOrdinals.toBitSet(keywordMatches) : null;
+        if (filter.hasPriceRange()) {
+            BitSet inRange = priceIndex.range(filter.getMinPrice(), filter.getMaxPrice());
+            if (candidates == null) {
+                candidates = inRange;
+            } else {
+                candidates.and(inRange);
+            }
+        }
+        return candidates;
+    }
+
+    private void applyReservations(BookCardDTO card) {
+        if (card.getQuantity() != null) {
+            card.setQuantity(Math.max(0, card.getQuantity() - stockReservationService.getReserved(card.getId())));
+        }
+    }
+
+    private BookCardDTO toCard(BookCardView view) {
+        return new BookCardDTO(view.getId(), view.getName(), view.getAuthor(), view.getGenre(),
+                view.getPrice(), view.getQuantity(), view.getImageUrl(), view.getSlug(), view.getSalesCount());
+    }
+
+    private List<BookCardDTO> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return bookRepository.findCardsByIdIn(ids).stream()
+                .sorted(Comparator.comparing(card -> positions.get(card.getId())))
+                .toList();
+    }
 
 }
@@ -0,0 +1,83 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.index.TextNormalizer;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookSlugAssigner {
+
+    private static final String FALLBACK_SLUG = "book";
+    private static final Set<String> RESERVED_SLUGS = Set.of("add", "manage", "suggest", "bestsellers");
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void assignMissingSlugs() {
+        List<Book> books = bookRepository.findBySlugIsNull();
+        for (Book book : books) {
+            assign(book);
+            bookRepository.saveAndFlush(book);
+        }
+        if (!books.isEmpty()) {
+            log.info("Assigned slugs to {} books", books.size());
+        }
+    }
+
+    public int assignMissingSlugsInBulk() {
+        Set<String> taken = new HashSet<>(
+                jdbcTemplate.queryForList("SELECT slug FROM books WHERE slug IS NOT NULL", String.class));
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name FROM books WHERE slug IS NULL ORDER BY id", (RowCallbackHandler) rs -> {
+            String slug = uniqueSlug(rs.getString("name"), taken::contains);
+            taken.add(slug);
+            updates.add(new Object[] {slug, rs.getLong("id")});
+        });
+        jdbcTemplate.batchUpdate("UPDATE books SET slug = ? WHERE id = ?", updates);
+        return updates.size();
+    }
+
+    public void assign(Book book) {
+        book.setSlug(uniqueSlug(book.getName(), slug -> isTakenByAnotherBook(slug, book)));
+    }
+
+    private String uniqueSlug(String name, Predicate<String> taken) {
+        String base = TextNormalizer.slugify(name);
+        if (base.isEmpty()) {
+            base = FALLBACK_SLUG;
+        }
+        String slug = base;
+        for (int suffix = 2; RESERVED_SLUGS.contains(slug) || taken.test(slug); suffix++) {
+            slug = base + "-" + suffix;
+        }
+        return slug;
+    }
+
+    private boolean isTakenByAnotherBook(String slug, Book book) {
+        return bookRepository.findBySlug(slug)
+                .filter(other -> !Objects.equals(other.getId(), book.getId()))
+                .isPresent();
+    }
+}
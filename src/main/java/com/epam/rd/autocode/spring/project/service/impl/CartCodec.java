@@ -0,0 +1,39 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CartCodec {
+
+    public static final int MAX_LINES = 1000;
+    static final int LINE_BYTES = Long.BYTES + Integer.BYTES;
+
+    private CartCodec() {
+    }
+
+    public static byte[] encode(List<CartLine> lines) {
+        if (lines.size() > MAX_LINES) {
+            throw new IllegalArgumentException("Cart cannot hold more than " + MAX_LINES + " lines");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(lines.size() * LINE_BYTES);
+        for (CartLine line : lines) {
+            buffer.putLong(line.bookId()).putInt(line.quantity());
+        }
+        return buffer.array();
+    }
+
+    public static List<CartLine> decode(byte[] data) {
+        if (data.length % LINE_BYTES != 0) {
+            throw new IllegalArgumentException("Corrupt cart data of " + data.length + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        List<CartLine> lines = new ArrayList<>(data.length / LINE_BYTES);
+        while (buffer.hasRemaining()) {
+            lines.add(new CartLine(buffer.getLong(), buffer.getInt()));
+        }
+        return lines;
+    }
+}
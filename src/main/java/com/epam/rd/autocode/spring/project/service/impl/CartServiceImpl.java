@@ -1,97 +1,127 @@
 package com.epam.rd.autocode.spring.project.service.impl;
 
-import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
 import com.epam.rd.autocode.spring.project.dto.CartItem;
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.CartService;
-import jakarta.servlet.http.HttpSession;
-import lombok.RequiredArgsConstructor;
+import com.epam.rd.autocode.spring.project.service.CartStore;
+import com.epam.rd.autocode.spring.project.service.StockReservationService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
 public class CartServiceImpl implements CartService {
 
     private final BookService bookService;
-    private static final String CART_SESSION_KEY = "cart";
+    private final CartStore cartStore;
+    private final StockReservationService stockReservationService;
+    private final Lock[] stripes;
+
+    public CartServiceImpl(BookService bookService,
+                           CartStore cartStore,
+                           StockReservationService stockReservationService,
+                           @Value("${bookstore.cart.lock-stripes:64}") int stripeCount) {
+        this.bookService = bookService;
+        this.cartStore = cartStore;
+        this.stockReservationService = stockReservationService;
+        this.stripes = new Lock[Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
 
     @Override
-    public List<CartItem> getCart(HttpSession session) {
-        List<CartItem> cart = getCartFromSession(session);
-
-        for (CartItem item : cart) {
-            BookDTO book = bookService.getBookById(item.getBookId());
-
-            item.setAvailableStock(book.getQuantity());
-            item.setPrice(book.getPrice());
+    public List<CartItem> getCart(String owner) {
+        List<CartLine> snapshot = cartStore.load(owner);
+        if (snapshot.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> lookedUp = new LinkedHashSet<>();
+        snapshot.forEach(line -> lookedUp.add(line.bookId()));
+        Map<Long, BookStockDTO> stock = bookService.getStock(lookedUp);
+
+        return withLock(owner, () -> {
+            List<CartLine> lines = cartStore.load(owner);
+            List<CartItem> cart = new ArrayList<>(lines.size());
+            List<CartLine> refreshed = new ArrayList<>(lines.size());
+            for (CartLine line : lines) {
+                BookStockDTO book = stock.get(line.bookId());
+                if (book == null) {
+                    if (!lookedUp.contains(line.bookId())) {
+                        refreshed.add(line);
+                    }
+                    continue;
+                }
+                int quantity = reserve(owner, line.bookId(), line.quantity(), book);
+                refreshed.add(new CartLine(line.bookId(), quantity));
+                cart.add(new CartItem(book.getId(), book.getName(), book.getPrice(), quantity,
+                        book.getImageUrl(), availableTo(quantity, book)));
+            }
 
-            if (item.getQuantity() > book.getQuantity()) {
-                item.setQuantity(book.getQuantity());
+            if (!refreshed.equals(lines)) {
+                cartStore.save(owner, refreshed);
             }
-        }
-        return cart;
+            return cart;
+        });
     }
 
     @Override
-    public void addItem(HttpSession session, Long bookId, int quantity) {
-        List<CartItem> cart = getCartFromSession(session);
-        BookDTO book = bookService.getBookById(bookId);
-
-        Optional<CartItem> existingItem = cart.stream()
-                .filter(item -> item.getBookId().equals(bookId))
-                .findFirst();
-
-        if (existingItem.isPresent()) {
-            CartItem item = existingItem.get();
-            int newQuantity = item.getQuantity() + quantity;
-
-            item.setQuantity(Math.min(newQuantity, book.getQuantity()));
-        } else {
-            int finalQty = Math.min(quantity, book.getQuantity());
+    public void addItem(String owner, Long bookId, int quantity) {
+        BookStockDTO book = findStock(bookId);
+        mutate(owner, lines -> {
+            Integer current = lines.get(bookId);
+            if (current != null) {
+                lines.put(bookId, reserve(owner, bookId, current + quantity, book));
+                return;
+            }
+            if (lines.size() >= CartCodec.MAX_LINES) {
+                return;
+            }
+            int finalQty = reserve(owner, bookId, quantity, book);
             if (finalQty > 0) {
-                cart.add(new CartItem(
-                        book.getId(),
-                        book.getName(),
-                        book.getPrice(),
-                        finalQty,
-                        book.getImageUrl(),
-                        book.getQuantity()
-                ));
+                lines.put(bookId, finalQty);
             }
-        }
+        });
     }
 
     @Override
-    public void removeItem(HttpSession session, Long bookId) {
-        List<CartItem> cart = getCartFromSession(session);
-        cart.removeIf(item -> item.getBookId().equals(bookId));
+    public void removeItem(String owner, Long bookId) {
+        mutate(owner, lines -> {
+            lines.remove(bookId);
+            stockReservationService.release(owner, bookId);
+        });
     }
 
     @Override
-    public void updateItemQuantity(HttpSession session, Long bookId, int quantity) {
-        List<CartItem> cart = getCartFromSession(session);
-        BookDTO book = bookService.getBookById(bookId);
-
-        cart.stream()
-                .filter(item -> item.getBookId().equals(bookId))
-                .findFirst()
-                .ifPresent(item -> {
-                    if (quantity > book.getQuantity()) {
-                        item.setQuantity(book.getQuantity());
-                    } else if (quantity > 0) {
-                        item.setQuantity(quantity);
-                    } else {
-                        cart.remove(item);
-                    }
-                    item.setAvailableStock(book.getQuantity());
-                });
+    public void updateItemQuantity(String owner, Long bookId, int quantity) {
+        BookStockDTO book = findStock(bookId);
+        mutate(owner, lines -> {
+            if (!lines.containsKey(bookId)) {
+                return;
+            }
+            if (quantity > 0) {
+                lines.put(bookId, reserve(owner, bookId, quantity, book));
+            } else {
+                lines.remove(bookId);
+                stockReservationService.release(owner, bookId);
+            }
+        });
     }
 
     @Override
@@ -102,17 +132,74 @@ public class CartServiceImpl implements CartService {
     }
 
     @Override
-    public void clearCart(HttpSession session) {
-        session.removeAttribute(CART_SESSION_KEY);
+    public void clearCart(String owner) {
+        withLock(owner, () -> {
+            cartStore.load(owner).forEach(line -> stockReservationService.release(owner, line.bookId()));
+            cartStore.clear(owner);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean checkout(String owner, Consumer<List<CartItem>> placeOrder) {
+        return withLock(owner, () -> {
+            List<CartItem> cart = getCart(owner);
+            if (cart.isEmpty()) {
+                return false;
+            }
+            placeOrder.accept(cart);
+            mutate(owner, lines -> cart.forEach(item -> {
+                lines.remove(item.getBookId());
+                stockReservationService.release(owner, item.getBookId());
+            }));
+            return true;
+        });
+    }
+
+    private void mutate(String owner, Consumer<Map<Long, Integer>> change) {
+        withLock(owner, () -> {
+            List<CartLine> current = cartStore.load(owner);
+            Map<Long, Integer> lines = new LinkedHashMap<>();
+            current.forEach(line -> lines.put(line.bookId(), line.quantity()));
+
+            change.accept(lines);
+
+            List<CartLine> updated = new ArrayList<>(lines.size());
+            lines.forEach((id, quantity) -> updated.add(new CartLine(id, quantity)));
+            if (!updated.equals(current)) {
+                cartStore.save(owner, updated);
+            }
+            return null;
+        });
+    }
+
+    private <T> T withLock(String owner, Supplier<T> action) {
+        Lock lock = stripes[spread(owner.hashCode()) & (stripes.length - 1)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int reserve(String owner, Long bookId, int quantity, BookStockDTO book) {
+        return stockReservationService.reserve(owner, bookId, quantity, book.getQuantity());
+    }
+
+    private int availableTo(int held, BookStockDTO book) {
+        return Math.max(0, book.getQuantity() - stockReservationService.getReserved(book.getId()) + held);
     }
 
-    @SuppressWarnings("unchecked")
-    private List<CartItem> getCartFromSession(HttpSession session) {
-        List<CartItem> cart = (List<CartItem>) session.getAttribute(CART_SESSION_KEY);
-        if (cart == null) {
-            cart = new ArrayList<>();
-            session.setAttribute(CART_SESSION_KEY, cart);
+    private BookStockDTO findStock(Long bookId) {
+        BookStockDTO book = bookService.getStock(List.of(bookId)).get(bookId);
+        if (book == null) {
+            throw new NotFoundException("Book not found with ID: " + bookId);
         }
-        return cart;
+        return book;
     }
 }
@@ -0,0 +1,98 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Client;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class CheckoutWriter {
+
+    static final String DECREMENT_STOCK_SQL =
+            "UPDATE books SET quantity = quantity - ?, sales_count = sales_count + ? WHERE id = ? AND quantity >= ?";
+    static final String DEBIT_BALANCE_SQL = "UPDATE CLIENTS SET balance = balance - ? WHERE id = ? AND balance >= ?";
+    static final String ADJUST_SALES_SQL = "UPDATE books SET sales_count = GREATEST(sales_count + ?, 0) WHERE id = ?";
+    static final String INSERT_ITEM_SQL = "INSERT INTO book_items (order_id, book_id, quantity) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+
+    public List<Long> decrementStock(Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> lines = new ArrayList<>(quantities.entrySet());
+        int[][] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setInt(2, line.getValue());
+            ps.setLong(3, line.getKey());
+            ps.setInt(4, line.getValue());
+        });
+        evict(Book.class, quantities.keySet());
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (counts[0][i] == 0) {
+                failed.add(lines.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    public boolean debitBalance(Long clientId, BigDecimal amount) {
+        boolean debited = jdbcTemplate.update(DEBIT_BALANCE_SQL, amount, clientId, amount) == 1;
+        evict(Client.class, List.of(clientId));
+        return debited;
+    }
+
+    public void insertItems(Long orderId, Map<Long, Integer> quantities) {
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, new ArrayList<>(quantities.entrySet()), quantities.size(),
+                (ps, line) -> {
+                    ps.setLong(1, orderId);
+                    ps.setLong(2, line.getKey());
+                    ps.setInt(3, line.getValue());
+                });
+    }
+
+    public List<Book> adjustSales(Map<Long, Integer> deltas) {
+        jdbcTemplate.batchUpdate(ADJUST_SALES_SQL, new ArrayList<>(deltas.entrySet()), deltas.size(),
+                (ps, delta) -> {
+                    ps.setInt(1, delta.getValue());
+                    ps.setLong(2, delta.getKey());
+                });
+        evict(Book.class, deltas.keySet());
+
+        List<Book> books = new ArrayList<>(deltas.size());
+        for (Long id : deltas.keySet()) {
+            Book book = entityManager.find(Book.class, id);
+            if (book != null) {
+                entityManager.refresh(book);
+                books.add(book);
+            }
+        }
+        return books;
+    }
+
+    private void evict(Class<?> type, Collection<Long> ids) {
+        Runnable eviction = () -> ids.forEach(id -> entityManagerFactory.getCache().evict(type, id));
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
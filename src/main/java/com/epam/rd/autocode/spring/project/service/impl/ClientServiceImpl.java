@@ -3,13 +3,13 @@ package com.epam.rd.autocode.spring.project.service.impl;
 import com.epam.rd.autocode.spring.project.dto.ClientDTO;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.ClientMapper;
 import com.epam.rd.autocode.spring.project.model.Client;
 import com.epam.rd.autocode.spring.project.model.enums.Role;
 import com.epam.rd.autocode.spring.project.repo.ClientRepository;
 import com.epam.rd.autocode.spring.project.service.ClientService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,7 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class ClientServiceImpl implements ClientService {
 
     private final ClientRepository clientRepository;
-    private final ModelMapper modelMapper;
+    private final ClientMapper clientMapper;
     private final PasswordEncoder passwordEncoder;
 
 
@@ -40,14 +40,14 @@ public class ClientServiceImpl implements ClientService {
             clientPage = clientRepository.findAll(pageable);
         }
 
-        return clientPage.map(client -> modelMapper.map(client, ClientDTO.class));
+        return clientPage.map(client -> clientMapper.toDto(client));
     }
 
     @Override
     public ClientDTO getClientByEmail(String email) {
         Client client = clientRepository.findByEmail(email)
                 .orElseThrow(()-> new NotFoundException("Client not found: " + email));
-        return modelMapper.map(client, ClientDTO.class);
+        return clientMapper.toDto(client);
     }
 
     @Override
@@ -57,11 +57,11 @@ public class ClientServiceImpl implements ClientService {
             log.error("Trying to add an existing user: {}", clientDTO.getEmail());
             throw new AlreadyExistException("Client already exists: " + clientDTO.getEmail());
         }
-        Client client = modelMapper.map(clientDTO, Client.class);
+        Client client = clientMapper.toEntity(clientDTO);
         client.setRole(Role.CUSTOMER);
         client.setPassword(passwordEncoder.encode(client.getPassword()));
         log.info("Add new user: {}",clientDTO.getEmail());
-        return modelMapper.map(clientRepository.save(client), ClientDTO.class);
+        return clientMapper.toDto(clientRepository.save(client));
 
     }
 
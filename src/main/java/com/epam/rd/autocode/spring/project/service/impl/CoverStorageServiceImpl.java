@@ -0,0 +1,164 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.service.CoverStorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class CoverStorageServiceImpl implements CoverStorageService {
+
+    public static final String COVERS_PATH = "/covers/";
+    public static final String THUMBNAILS_PATH = COVERS_PATH + "thumbs/";
+
+    private static final Pattern FILE_NAME = Pattern.compile("[0-9a-f]{64}\\.(jpg|png)");
+    private static final Map<String, String> EXTENSIONS = Map.of("jpeg", "jpg", "png", "png");
+
+    private final Path root;
+    private final Path thumbnails;
+    private final int thumbnailWidth;
+    private final int thumbnailHeight;
+    private final long maxSize;
+    private final long maxPixels;
+
+    public CoverStorageServiceImpl(@Value("${bookstore.covers.dir:./data/covers}") Path root,
+                                   @Value("${bookstore.covers.thumbnail-width:300}") int thumbnailWidth,
+                                   @Value("${bookstore.covers.thumbnail-height:400}") int thumbnailHeight,
+                                   @Value("${bookstore.covers.max-size:5242880}") long maxSize,
+                                   @Value("${bookstore.covers.max-pixels:25000000}") long maxPixels) {
+        this.root = root.toAbsolutePath().normalize();
+        this.thumbnails = this.root.resolve("thumbs");
+        this.thumbnailWidth = thumbnailWidth;
+        this.thumbnailHeight = thumbnailHeight;
+        this.maxSize = maxSize;
+        this.maxPixels = maxPixels;
+    }
+
+    @Override
+    public String storeCover(MultipartFile file) {
+        if (file.isEmpty() || file.getSize() > maxSize) {
+            throw new IllegalArgumentException("Cover must be a non-empty image up to " + maxSize / 1024 + " KB");
+        }
+        try {
+            byte[] content = file.getBytes();
+            DecodedCover cover = decode(content);
+            String extension = cover.extension();
+            BufferedImage image = cover.image();
+
+            String fileName = sha256(content) + "." + extension;
+            Path original = root.resolve(fileName);
+            if (Files.notExists(original)) {
+                writeAtomically(original, content);
+                log.info("Stored cover {}", fileName);
+            }
+            Path thumbnail = thumbnails.resolve(fileName);
+            if (Files.notExists(thumbnail)) {
+                writeAtomically(thumbnail, thumbnail(image, extension));
+            }
+            return COVERS_PATH + fileName;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store cover", e);
+        }
+    }
+
+    @Override
+    public Optional<Path> resolve(String fileName, boolean thumbnail) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path path = (thumbnail ? thumbnails : root).resolve(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private DecodedCover decode(byte[] content) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            while (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                String extension = EXTENSIONS.get(reader.getFormatName().toLowerCase());
+                if (extension != null) {
+                    try {
+                        reader.setInput(input, true, true);
+                        if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                            throw new IllegalArgumentException("Cover must have at most " + maxPixels + " pixels");
+                        }
+                        return new DecodedCover(extension, reader.read(0));
+                    } catch (IIOException e) {
+                        throw new IllegalArgumentException("Cover is not a readable image", e);
+                    } finally {
+                        reader.dispose();
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Only JPEG and PNG covers are supported");
+    }
+
+    private record DecodedCover(String extension, BufferedImage image) {
+    }
+
+    private byte[] thumbnail(BufferedImage image, String extension) throws IOException {
+        double scale = Math.min(1.0, Math.min((double) thumbnailWidth / image.getWidth(),
+                (double) thumbnailHeight / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        int type = "png".equals(extension) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(width, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, extension, out);
+        return out.toByteArray();
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "cover-", ".tmp");
+        try {
+            Files.write(temp, content);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
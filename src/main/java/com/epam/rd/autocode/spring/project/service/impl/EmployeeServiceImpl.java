@@ -2,11 +2,11 @@ package com.epam.rd.autocode.spring.project.service.impl;
 
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.mapper.EmployeeMapper;
 import com.epam.rd.autocode.spring.project.model.Employee;
 import com.epam.rd.autocode.spring.project.repo.EmployeeRepository;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,7 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final EmployeeRepository employeeRepository;
-    private final ModelMapper modelMapper;
+    private final EmployeeMapper employeeMapper;
     private final PasswordEncoder passwordEncoder;
 
 
@@ -24,7 +24,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     public EmployeeDTO getEmployeeByEmail(String email) {
         Employee employee = employeeRepository
                 .findByEmail(email).orElseThrow(()->new NotFoundException("Employee not found: " + email));
-        return modelMapper.map(employee, EmployeeDTO.class);
+        return employeeMapper.toDto(employee);
     }
 
     @Override
@@ -35,7 +35,7 @@ public class EmployeeServiceImpl implements EmployeeService {
 
         String oldPasswordHash = existing.getPassword();
 
-        modelMapper.map(employeeDTO, existing);
+        employeeMapper.updateEntity(employeeDTO, existing);
 
         if (employeeDTO.getPassword() != null && !employeeDTO.getPassword().trim().isEmpty()) {
             existing.setPassword(passwordEncoder.encode(employeeDTO.getPassword()));
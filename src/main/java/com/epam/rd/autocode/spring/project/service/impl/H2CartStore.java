@@ -0,0 +1,90 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.model.Cart;
+import com.epam.rd.autocode.spring.project.repo.CartRepository;
+import com.epam.rd.autocode.spring.project.service.CartStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class H2CartStore implements CartStore {
+
+    private static final byte[] EMPTY = new byte[0];
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final CartRepository cartRepository;
+    private final Clock clock;
+    private final Cache<String, CachedCart> carts;
+
+    public H2CartStore(CartRepository cartRepository,
+                       Clock clock,
+                       @Value("${bookstore.cart.cache.max-bytes:4194304}") long maxBytes,
+                       @Value("${bookstore.cart.cache.ttl:30m}") Duration ttl) {
+        this.cartRepository = cartRepository;
+        this.clock = clock;
+        this.carts = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String owner, CachedCart cart) -> ENTRY_OVERHEAD_BYTES + owner.length() * 2 + cart.lines().length)
+                .expireAfterWrite(ttl)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    @Override
+    public List<CartLine> load(String owner) {
+        LocalDateTime updatedAt = cartRepository.findUpdatedAtByOwnerEmail(owner).orElse(null);
+        if (updatedAt == null) {
+            carts.invalidate(owner);
+            return CartCodec.decode(EMPTY);
+        }
+        CachedCart cached = carts.getIfPresent(owner);
+        if (cached == null || !cached.updatedAt().equals(updatedAt)) {
+            cached = cartRepository.findById(owner)
+                    .map(cart -> new CachedCart(cart.getUpdatedAt(), cart.getLines()))
+                    .orElse(new CachedCart(updatedAt, EMPTY));
+            carts.put(owner, cached);
+        }
+        return CartCodec.decode(cached.lines());
+    }
+
+    @Override
+    public void save(String owner, List<CartLine> lines) {
+        if (lines.isEmpty()) {
+            clear(owner);
+            return;
+        }
+        byte[] encoded = CartCodec.encode(lines);
+        LocalDateTime updatedAt = nextStamp(carts.getIfPresent(owner));
+        cartRepository.save(new Cart(owner, encoded, updatedAt));
+        carts.put(owner, new CachedCart(updatedAt, encoded));
+    }
+
+    @Override
+    public void clear(String owner) {
+        if (cartRepository.existsById(owner)) {
+            cartRepository.deleteById(owner);
+        }
+        carts.invalidate(owner);
+    }
+
+    private LocalDateTime nextStamp(CachedCart previous) {
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        if (previous != null && !now.isAfter(previous.updatedAt())) {
+            return previous.updatedAt().plus(1, ChronoUnit.MICROS);
+        }
+        return now;
+    }
+
+    private record CachedCart(LocalDateTime updatedAt, byte[] lines) {
+    }
+}
@@ -3,12 +3,18 @@ package com.epam.rd.autocode.spring.project.service.impl;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.CartItem;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.BookLookupIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
 import com.epam.rd.autocode.spring.project.model.*;
 import com.epam.rd.autocode.spring.project.model.enums.OrderStatus;
 import com.epam.rd.autocode.spring.project.repo.*;
 import com.epam.rd.autocode.spring.project.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,7 +25,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,7 +40,10 @@ public class OrderServiceImpl implements OrderService {
     private final ClientRepository clientRepository;
     private final EmployeeRepository employeeRepository;
     private final BookRepository bookRepository;
-    private final BookItemRepository bookItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookLookupIndex bookLookupIndex;
+    private final CatalogIndexManager catalogIndexManager;
+    private final CheckoutWriter checkoutWriter;
 
     @Override
     public Page<OrderDTO> getOrdersByClient(String email, Pageable pageable) {
@@ -61,7 +74,7 @@ public class OrderServiceImpl implements OrderService {
         BigDecimal totalPrice = BigDecimal.ZERO;
 
         for (BookItemDTO itemDTO : orderDTO.getBookItems()){
-            Book book = bookRepository.findByName(itemDTO.getBookName())
+            Book book = findBookByName(itemDTO.getBookName())
                     .orElseThrow(()->new NotFoundException("Book not found: " + itemDTO.getBookName()));
 
             BookItem bookItem = new BookItem();
@@ -88,21 +101,30 @@ public class OrderServiceImpl implements OrderService {
         Client client = clientRepository.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException("Client not found: " + email));
 
-        BigDecimal totalOrderPrice = BigDecimal.ZERO;
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        cart.forEach(item -> quantities.merge(item.getBookId(), item.getQuantity(), Integer::sum));
 
-        for (CartItem item : cart) {
-            Book book = bookRepository.findById(item.getBookId())
-                    .orElseThrow(() -> new NotFoundException("Book not found: " + item.getBookId()));
+        List<Long> shortOfStock = checkoutWriter.decrementStock(quantities);
 
-            if (book.getQuantity() < item.getQuantity()) {
-                throw new RuntimeException("Not enough stock for book: " + book.getName());
-            }
+        Map<Long, Book> books = new HashMap<>();
+        bookRepository.findAllById(new ArrayList<>(quantities.keySet()))
+                .forEach(book -> books.put(book.getId(), book));
 
-            BigDecimal itemTotal = book.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
+        BigDecimal totalOrderPrice = BigDecimal.ZERO;
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            Book book = books.get(line.getKey());
+            if (book == null) {
+                throw new NotFoundException("Book not found: " + line.getKey());
+            }
+            BigDecimal itemTotal = book.getPrice().multiply(BigDecimal.valueOf(line.getValue()));
             totalOrderPrice = totalOrderPrice.add(itemTotal);
         }
 
-        if (client.getBalance().compareTo(totalOrderPrice) < 0) {
+        if (!shortOfStock.isEmpty()) {
+            throw new RuntimeException("Not enough stock for book: " + books.get(shortOfStock.get(0)).getName());
+        }
+
+        if (!checkoutWriter.debitBalance(client.getId(), totalOrderPrice)) {
             throw new RuntimeException("Insufficient funds! Balance: " + client.getBalance() + ", Total: " + totalOrderPrice);
         }
 
@@ -113,22 +135,15 @@ public class OrderServiceImpl implements OrderService {
         order.setPrice(totalOrderPrice);
 
         Order savedOrder = orderRepository.save(order);
-
-        for (CartItem item : cart) {
-            Book book = bookRepository.findById(item.getBookId()).get();
-
-            book.setQuantity(book.getQuantity() - item.getQuantity());
-            bookRepository.save(book);
-
-            BookItem bookItem = new BookItem();
-            bookItem.setOrder(savedOrder);
-            bookItem.setBook(book);
-            bookItem.setQuantity(item.getQuantity());
-            bookItemRepository.save(bookItem);
-        }
-
-        client.setBalance(client.getBalance().subtract(totalOrderPrice));
-        clientRepository.save(client);
+        checkoutWriter.insertItems(savedOrder.getId(), quantities);
+
+        List<OrderLine> lines = new ArrayList<>();
+        quantities.forEach((bookId, quantity) -> {
+            Book book = books.get(bookId);
+            lines.add(new OrderLine(book.getId(), book.getGenre(), quantity));
+            eventPublisher.publishEvent(BookChangedEvent.saved(book));
+        });
+        eventPublisher.publishEvent(new SalesRecordedEvent(savedOrder.getId(), order.getOrderDate(), lines, false));
     }
 
     @Override
@@ -156,8 +171,26 @@ public class OrderServiceImpl implements OrderService {
     public void updateOrderStatus(Long id, OrderStatus status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Order not found: " + id));
+        boolean wasCanceled = order.getStatus() == OrderStatus.CANCELED;
         order.setStatus(status);
         orderRepository.save(order);
+
+        boolean canceled = status == OrderStatus.CANCELED;
+        if (wasCanceled != canceled && order.getBookItems() != null) {
+            adjustSales(order, canceled);
+        }
+    }
+
+    private void adjustSales(Order order, boolean reversal) {
+        List<OrderLine> lines = new ArrayList<>();
+        Map<Long, Integer> deltas = new LinkedHashMap<>();
+        for (BookItem item : order.getBookItems()) {
+            Book book = item.getBook();
+            deltas.merge(book.getId(), reversal ? -item.getQuantity() : item.getQuantity(), Integer::sum);
+            lines.add(new OrderLine(book.getId(), book.getGenre(), item.getQuantity()));
+        }
+        checkoutWriter.adjustSales(deltas).forEach(book -> eventPublisher.publishEvent(BookChangedEvent.saved(book)));
+        eventPublisher.publishEvent(new SalesRecordedEvent(order.getId(), order.getOrderDate(), lines, reversal));
     }
 
 
@@ -181,4 +214,11 @@ public class OrderServiceImpl implements OrderService {
 
         return dto;
     }
+
+    private Optional<Book> findBookByName(String name) {
+        if (catalogIndexManager.isReady()) {
+            return bookLookupIndex.findIdByName(name).flatMap(bookRepository::findById);
+        }
+        return bookRepository.findByName(name);
+    }
 }
@@ -0,0 +1,157 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.service.StockReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private record HoldKey(String owner, Long bookId) {
+    }
+
+    private static final class Hold {
+        private final HoldKey key;
+        private final TimerWheel.Timer<Hold> timer;
+        private int quantity;
+
+        private Hold(HoldKey key) {
+            this.key = key;
+            this.timer = new TimerWheel.Timer<>(this);
+        }
+    }
+
+    private static final class StockCounter {
+        private volatile int reserved;
+    }
+
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+    private final Map<HoldKey, Hold> holds = new ConcurrentHashMap<>();
+    private final Lock wheelLock = new ReentrantLock();
+    private final TimerWheel<Hold> wheel;
+    private final CatalogVersionTracker catalogVersionTracker;
+    private final Clock clock;
+    private final long ttlMillis;
+    private volatile long nextSweep;
+
+    public StockReservationServiceImpl(CatalogVersionTracker catalogVersionTracker,
+                                       Clock clock,
+                                       @Value("${bookstore.reservation.ttl:15m}") Duration ttl) {
+        this.catalogVersionTracker = catalogVersionTracker;
+        this.clock = clock;
+        this.ttlMillis = ttl.toMillis();
+        this.wheel = new TimerWheel<>(clock.millis());
+    }
+
+    @Override
+    public int reserve(String owner, Long bookId, int quantity, int stock) {
+        expireHolds();
+        HoldKey key = new HoldKey(owner, bookId);
+        StockCounter counter = counters.computeIfAbsent(bookId, id -> new StockCounter());
+        int held;
+        int granted;
+        synchronized (counter) {
+            Hold hold = holds.get(key);
+            held = hold != null ? hold.quantity : 0;
+            granted = Math.max(0, Math.min(quantity, stock - counter.reserved + held));
+            if (granted == 0) {
+                drop(counter, key);
+            } else {
+                if (hold == null) {
+                    hold = new Hold(key);
+                    holds.put(key, hold);
+                }
+                hold.quantity = granted;
+                counter.reserved += granted - held;
+                schedule(hold, clock.millis() + ttlMillis);
+            }
+        }
+        if (granted != held) {
+            catalogVersionTracker.bump(bookId);
+        }
+        return granted;
+    }
+
+    @Override
+    public void release(String owner, Long bookId) {
+        StockCounter counter = counters.get(bookId);
+        if (counter == null) {
+            return;
+        }
+        boolean released;
+        synchronized (counter) {
+            released = drop(counter, new HoldKey(owner, bookId));
+        }
+        if (released) {
+            catalogVersionTracker.bump(bookId);
+        }
+    }
+
+    @Override
+    public int getReserved(Long bookId) {
+        expireHolds();
+        StockCounter counter = counters.get(bookId);
+        return counter != null ? counter.reserved : 0;
+    }
+
+    private void expireHolds() {
+        long now = clock.millis();
+        if (now < nextSweep || !wheelLock.tryLock()) {
+            return;
+        }
+        List<Hold> expired;
+        try {
+            expired = wheel.advance(now);
+            nextSweep = now + TimerWheel.TICK_MILLIS;
+        } finally {
+            wheelLock.unlock();
+        }
+
+        for (Hold hold : expired) {
+            StockCounter counter = counters.get(hold.key.bookId());
+            boolean released;
+            synchronized (counter) {
+                released = holds.get(hold.key) == hold && !hold.timer.isScheduled() && drop(counter, hold.key);
+            }
+            if (released) {
+                log.debug("Reservation of {} x book {} by {} expired", hold.quantity, hold.key.bookId(), hold.key.owner());
+                catalogVersionTracker.bump(hold.key.bookId());
+            }
+        }
+    }
+
+    private boolean drop(StockCounter counter, HoldKey key) {
+        Hold hold = holds.remove(key);
+        if (hold == null) {
+            return false;
+        }
+        counter.reserved -= hold.quantity;
+        wheelLock.lock();
+        try {
+            wheel.cancel(hold.timer);
+        } finally {
+            wheelLock.unlock();
+        }
+        return true;
+    }
+
+    private void schedule(Hold hold, long deadline) {
+        wheelLock.lock();
+        try {
+            wheel.schedule(hold.timer, deadline);
+        } finally {
+            wheelLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.epam.rd.autocode.spring.project.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TimerWheel<T> {
+
+    static final int TICK_BITS = 10;
+    public static final long TICK_MILLIS = 1L << TICK_BITS;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int BUCKETS = 1 << LEVEL_BITS;
+    private static final int MASK = BUCKETS - 1;
+
+    public static final class Timer<T> {
+        private final T value;
+        private long deadline;
+        private Timer<T> prev;
+        private Timer<T> next;
+
+        public Timer(T value) {
+            this.value = value;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        public boolean isScheduled() {
+            return next != null;
+        }
+    }
+
+    private final Timer<T>[][] wheel;
+    private long time;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long now) {
+        this.time = now;
+        this.wheel = new Timer[LEVELS][BUCKETS];
+        for (Timer<T>[] level : wheel) {
+            for (int i = 0; i < BUCKETS; i++) {
+                Timer<T> sentinel = new Timer<>(null);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                level[i] = sentinel;
+            }
+        }
+    }
+
+    public void schedule(Timer<T> timer, long deadline) {
+        unlink(timer);
+        timer.deadline = deadline;
+        link(timer);
+    }
+
+    public void cancel(Timer<T> timer) {
+        unlink(timer);
+    }
+
+    public List<T> advance(long now) {
+        List<T> expired = new ArrayList<>();
+        long previous = time;
+        if (now <= previous) {
+            return expired;
+        }
+        time = now;
+        for (int level = 0; level < LEVELS; level++) {
+            long previousTicks = previous >>> shift(level);
+            long delta = (now >>> shift(level)) - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            int steps = (int) Math.min(delta + 1, BUCKETS);
+            for (int i = 0; i < steps; i++) {
+                expire(wheel[level][(int) ((previousTicks + i) & MASK)], now, expired);
+            }
+        }
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void expire(Timer<T> sentinel, long now, List<T> expired) {
+        Timer<T> timer = sentinel.next;
+        sentinel.prev = sentinel;
+        sentinel.next = sentinel;
+        while (timer != sentinel) {
+            Timer<T> next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            size--;
+            if (timer.deadline <= now) {
+                expired.add(timer.value);
+            } else {
+                link(timer);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer<T> timer) {
+        long when = Math.max(timer.deadline, time);
+        long delay = when - time;
+        int level = 0;
+        while (level < LEVELS - 1 && delay >= 1L << shift(level + 1)) {
+            level++;
+        }
+        Timer<T> sentinel = wheel[level][(int) ((when >>> shift(level)) & MASK)];
+        timer.prev = sentinel.prev;
+        timer.next = sentinel;
+        sentinel.prev.next = timer;
+        sentinel.prev = timer;
+        size++;
+    }
+
+    private void unlink(Timer<T> timer) {
+        if (timer.next == null) {
+            return;
+        }
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        size--;
+    }
+
+    private static int shift(int level) {
+        return TICK_BITS + level * LEVEL_BITS;
+    }
+}
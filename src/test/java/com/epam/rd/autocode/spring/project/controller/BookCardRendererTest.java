@@ -0,0 +1,129 @@
+package com.epam.rd.autocode.spring.project.controller;
+
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class BookCardRendererTest {
+
+    private static final Locale LOCALE = Locale.ENGLISH;
+
+    private ITemplateEngine templateEngine;
+    private CatalogVersionTracker catalogVersionTracker;
+    private BookCardRenderer renderer;
+    private int renders;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = mock(ITemplateEngine.class);
+        catalogVersionTracker = mock(CatalogVersionTracker.class);
+        when(catalogVersionTracker.getCatalogVersion()).thenReturn(1L);
+        when(catalogVersionTracker.getBookVersion(anyLong())).thenReturn(1L);
+        when(templateEngine.process(eq("fragments/bookCard"), anySet(), any(IContext.class)))
+                .thenAnswer(invocation -> "<div>card " + (++renders) + "</div>");
+        renderer = new BookCardRenderer(templateEngine, catalogVersionTracker, 1024 * 1024);
+        anonymous();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void render_SameVersion_ShouldReuseCachedMarkup() {
+        List<String> first = render(book(1L), book(2L));
+        List<String> second = render(book(1L), book(2L));
+
+        assertEquals(first, second);
+        assertEquals(2, renders);
+        assertEquals(2, renderer.size());
+    }
+
+    @Test
+    void render_BookVersionChanged_ShouldRenderAgain() {
+        String before = render(book(1L)).get(0);
+        when(catalogVersionTracker.getBookVersion(1L)).thenReturn(2L);
+
+        String after = render(book(1L)).get(0);
+
+        assertNotEquals(before, after);
+        assertEquals(2, renders);
+    }
+
+    @Test
+    void render_DifferentRoleOrLocale_ShouldNotShareMarkup() {
+        render(book(1L));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin@test.com", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE")));
+        render(book(1L));
+        renderer.render(List.of(book(1L)), 1L, Locale.forLanguageTag("uk"),
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        assertEquals(3, renders);
+    }
+
+    @Test
+    void render_CatalogChangedSinceLoad_ShouldNotCache() {
+        when(catalogVersionTracker.getCatalogVersion()).thenReturn(2L);
+
+        render(book(1L));
+        render(book(1L));
+
+        assertEquals(2, renders);
+        assertEquals(0, renderer.size());
+    }
+
+    @Test
+    void render_CatalogChangesWhileRendering_ShouldCacheOnlyCardsRenderedBefore() {
+        when(catalogVersionTracker.getCatalogVersion()).thenReturn(1L, 2L);
+
+        render(book(1L), book(2L));
+
+        assertEquals(1, renderer.size());
+        render(book(1L), book(2L));
+        assertEquals(3, renders);
+    }
+
+    @Test
+    void render_OverWeightLimit_ShouldEvict() {
+        renderer = new BookCardRenderer(templateEngine, catalogVersionTracker, 64);
+
+        render(book(1L), book(2L), book(3L), book(4L), book(5L));
+
+        assertTrue(renderer.size() < 5);
+    }
+
+    private List<String> render(BookCardDTO... books) {
+        return renderer.render(List.of(books), 1L, LOCALE, new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    private BookCardDTO book(long id) {
+        return new BookCardDTO(id, "Book " + id, "Author", "Drama", BigDecimal.TEN, 1, null, "book-" + id, 0);
+    }
+
+    private void anonymous() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "key", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    }
+}
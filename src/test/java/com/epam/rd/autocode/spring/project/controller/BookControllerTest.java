@@ -1,11 +1,29 @@
 package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.conf.SecurityConfig;
+import com.epam.rd.autocode.spring.project.dto.BestsellerDTO;
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
 import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.dto.CursorPage;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.dto.ImportJobDTO;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import com.epam.rd.autocode.spring.project.model.enums.ExportFormat;
+import com.epam.rd.autocode.spring.project.model.enums.ImportStatus;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
 import com.epam.rd.autocode.spring.project.security.JwtUtils;
+import com.epam.rd.autocode.spring.project.service.BestsellerService;
+import com.epam.rd.autocode.spring.project.service.BookExportService;
+import com.epam.rd.autocode.spring.project.service.BookImportService;
 import com.epam.rd.autocode.spring.project.service.BookService;
 import com.epam.rd.autocode.spring.project.service.ClientService;
+import com.epam.rd.autocode.spring.project.service.CoverStorageService;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,26 +33,37 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(BookController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, BookCardRenderer.class})
 class BookControllerTest {
 
     @Autowired
@@ -43,6 +72,21 @@ class BookControllerTest {
     @MockBean
     private BookService bookService;
 
+    @MockBean
+    private BookImportService bookImportService;
+
+    @MockBean
+    private BookExportService bookExportService;
+
+    @MockBean
+    private CoverStorageService coverStorageService;
+
+    @MockBean
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @MockBean
+    private BestsellerService bestsellerService;
+
     @MockBean
     private ClientService clientService;
 
@@ -61,9 +105,11 @@ class BookControllerTest {
     @Test
     @WithAnonymousUser
     void getAllBooks_ShouldReturnListView() throws Exception {
-        Page<BookDTO> page = new PageImpl<>(Collections.emptyList());
-        when(bookService.getAllBooks(any(), any(), any(Pageable.class))).thenReturn(page);
-        when(bookService.getAllGenres()).thenReturn(List.of("Fantasy", "Sci-Fi"));
+        Page<BookCardDTO> page = new PageImpl<>(Collections.emptyList());
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(page);
+        when(bookService.getGenreFacets()).thenReturn(List.of(
+                new GenreFacetDTO("Fantasy", 4, 3),
+                new GenreFacetDTO("Sci-Fi", 2, 0)));
 
         mockMvc.perform(get("/books")
                         .param("page", "0")
@@ -74,7 +120,139 @@ class BookControllerTest {
                 .andExpect(view().name("books"))
                 .andExpect(model().attributeExists("books", "genres", "currentPage", "totalPages"))
                 .andExpect(model().attribute("sortField", "price"))
-                .andExpect(model().attribute("reverseSortDir", "asc"));
+                .andExpect(model().attribute("reverseSortDir", "asc"))
+                .andExpect(content().string(containsString("Fantasy (4)")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_ZeroHitKeyword_ShouldOfferSpellingCorrection() throws Exception {
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+        when(bookService.getSpellingCorrection(new BookFilter("hary poter", "Fantasy")))
+                .thenReturn(Optional.of("harry potter"));
+
+        mockMvc.perform(get("/books").param("keyword", "hary poter").param("genre", "Fantasy"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("didYouMean", "harry potter"))
+                .andExpect(content().string(containsString("keyword=harry%20potter&amp;genre=Fantasy")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void suggest_ShouldReturnJsonCompletions() throws Exception {
+        when(bookService.getSuggestions("har", 8)).thenReturn(List.of("Harry Potter", "Harper Lee"));
+
+        mockMvc.perform(get("/books/suggest").param("q", "har"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]").value("Harry Potter"));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void suggest_ShouldCapLimit() throws Exception {
+        when(bookService.getSuggestions("har", 10)).thenReturn(List.of());
+
+        mockMvc.perform(get("/books/suggest").param("q", "har").param("limit", "500"))
+                .andExpect(status().isOk());
+
+        verify(bookService).getSuggestions("har", 10);
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_WithFacets_ShouldPassCombinedFilter() throws Exception {
+        Page<BookCardDTO> page = new PageImpl<>(Collections.emptyList());
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(page);
+
+        when(bookService.getPriceHistogram()).thenReturn(new PriceHistogramDTO(new BigDecimal("4.99"),
+                new BigDecimal("29.95"), 2, List.of(new PriceHistogramDTO.Bar(new BigDecimal("4.00"), new BigDecimal("16.00"), 2),
+                new PriceHistogramDTO.Bar(new BigDecimal("16.00"), new BigDecimal("28.00"), 1))));
+
+        mockMvc.perform(get("/books")
+                        .param("keyword", "harry")
+                        .param("genre", "Fantasy")
+                        .param("language", "ENGLISH")
+                        .param("priceBand", "FROM_10_TO_20")
+                        .param("inStock", "true")
+                        .param("minPrice", "12.50")
+                        .param("maxPrice", "18"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("selectedLanguage", Language.ENGLISH))
+                .andExpect(model().attribute("selectedPriceBand", PriceBand.FROM_10_TO_20))
+                .andExpect(model().attribute("selectedMinPrice", new BigDecimal("12.50")));
+
+        verify(bookService).getAllBooks(eq(new BookFilter("harry", "Fantasy", Language.ENGLISH, null,
+                PriceBand.FROM_10_TO_20, true, new BigDecimal("12.50"), new BigDecimal("18"))), any(Pageable.class));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_KeysetMode_ShouldRenderCursorLinks() throws Exception {
+        CursorPage<BookCardDTO> cursorPage = new CursorPage<>(Collections.emptyList(), "prev-token", "next-token");
+        when(bookService.getBooksByCursor(null, BookSortField.QUANTITY, Sort.Direction.DESC, "current-token", 6))
+                .thenReturn(cursorPage);
+
+        mockMvc.perform(get("/books")
+                        .param("mode", "keyset")
+                        .param("cursor", "current-token")
+                        .param("sortField", "quantity")
+                        .param("sortDir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("books"))
+                .andExpect(model().attribute("keyset", true))
+                .andExpect(model().attribute("nextCursor", "next-token"))
+                .andExpect(model().attributeDoesNotExist("totalPages"))
+                .andExpect(content().string(containsString("cursor=next-token")))
+                .andExpect(content().string(containsString("cursor=prev-token")));
+
+        verify(bookService, never()).getAllBooks(any(BookFilter.class), any(Pageable.class));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_PopularitySort_ShouldOrderBySalesCountWithIdTiebreaker() throws Exception {
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/books").param("sortField", "popularity").param("sortDir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("sortField", "popularity"));
+
+        verify(bookService).getAllBooks(any(BookFilter.class), argThat(pageable -> pageable.getSort().equals(
+                Sort.by(Sort.Direction.DESC, "salesCount").and(Sort.by(Sort.Direction.DESC, "id")))));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_KeywordWithoutSortField_ShouldRankByRelevance() throws Exception {
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/books").param("keyword", "harry").param("sortField", ""))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("sortField", nullValue()));
+
+        verify(bookService).getAllBooks(any(BookFilter.class), argThat(pageable -> pageable.getSort().isUnsorted()));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_UnsupportedSortField_ShouldRejectWithoutQuerying() throws Exception {
+        mockMvc.perform(get("/books").param("sortField", "description"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookService, never()).getAllBooks(any(BookFilter.class), any(Pageable.class));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_KeysetModeWithoutKeysetSupport_ShouldFallBackToOffsetPaging() throws Exception {
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/books").param("mode", "keyset").param("sortField", "publicationDate"))
+                .andExpect(status().isOk())
+                .andExpect(model().attributeExists("totalPages"));
+
+        verify(bookService, never()).getBooksByCursor(any(), any(), any(), any(), anyInt());
     }
 
     @Test
@@ -84,9 +262,9 @@ class BookControllerTest {
         BookDTO bookDTO = new BookDTO();
         bookDTO.setName(bookName);
 
-        when(bookService.getBookByName(bookName)).thenReturn(bookDTO);
+        when(bookService.getBookBySlug("java-basics")).thenReturn(bookDTO);
 
-        mockMvc.perform(get("/books/{name}", bookName))
+        mockMvc.perform(get("/books/{slug}", "java-basics"))
                 .andExpect(status().isOk())
                 .andExpect(view().name("book-details"))
                 .andExpect(model().attribute("book", hasProperty("name", is(bookName))));
@@ -217,7 +395,7 @@ class BookControllerTest {
     @Test
     @WithMockUser(username = "admin", roles = "EMPLOYEE")
     void manageBooks_ShouldReturnEmployeeView() throws Exception {
-        Page<BookDTO> page = new PageImpl<>(Collections.emptyList());
+        Page<BookCardDTO> page = new PageImpl<>(Collections.emptyList());
         when(bookService.getAllBooks(any(), any(), any(Pageable.class))).thenReturn(page);
 
         mockMvc.perform(get("/books/manage"))
@@ -225,4 +403,218 @@ class BookControllerTest {
                 .andExpect(view().name("employee-books"))
                 .andExpect(model().attributeExists("books", "currentPage"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void importBooks_ShouldAcceptUploadAndReturnJob() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "feed.csv", "text/csv", "name\n".getBytes());
+        when(bookImportService.startImport(any())).thenReturn(
+                new ImportJobDTO("job-1", "feed.csv", ImportStatus.QUEUED, 0, 0, 0, null, null, List.of()));
+
+        mockMvc.perform(multipart("/books/import").file(file))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void importBooks_UnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "feed.xlsx", "application/octet-stream", new byte[1]);
+        when(bookImportService.startImport(any())).thenThrow(new IllegalArgumentException("Unsupported"));
+
+        mockMvc.perform(multipart("/books/import").file(file))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void importBooks_Customer_ShouldBeForbidden() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "feed.csv", "text/csv", "name\n".getBytes());
+
+        mockMvc.perform(multipart("/books/import").file(file))
+                .andExpect(status().isForbidden());
+
+        verify(bookImportService, never()).startImport(any());
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void getImport_ShouldReturnProgress() throws Exception {
+        when(bookImportService.getImport("job-1")).thenReturn(
+                new ImportJobDTO("job-1", "feed.csv", ImportStatus.RUNNING, 120, 100, 3, null, null, List.of()));
+
+        mockMvc.perform(get("/books/import/{id}", "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedRows").value(120))
+                .andExpect(jsonPath("$.failedRows").value(3));
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void exportBooks_ShouldStreamServiceOutputAsAttachment() throws Exception {
+        when(bookExportService.exportCatalog(eq(ExportFormat.NDJSON), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/books/manage/export").param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", org.hamcrest.Matchers.startsWith("attachment; filename=\"catalog-")))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void exportBooks_Customer_ShouldBeForbidden() throws Exception {
+        when(clientService.getClientByEmail(any())).thenReturn(new ClientDTO());
+
+        mockMvc.perform(get("/books/manage/export"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(bookExportService);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void uploadCover_ShouldStoreFileAndPointBookAtIt() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", new byte[] {1});
+        when(coverStorageService.storeCover(any())).thenReturn("/covers/abc.png");
+
+        mockMvc.perform(multipart("/books/edit/{id}/cover", 5L).file(file))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/books/edit/5"));
+
+        verify(bookService).updateCover(5L, "/covers/abc.png");
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = "EMPLOYEE")
+    void uploadCover_InvalidImage_ShouldRedirectWithError() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", new byte[] {1});
+        when(coverStorageService.storeCover(any())).thenThrow(new IllegalArgumentException("bad"));
+
+        mockMvc.perform(multipart("/books/edit/{id}/cover", 5L).file(file))
+                .andExpect(redirectedUrl("/books/edit/5?coverError"));
+
+        verify(bookService, never()).updateCover(any(), any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_Anonymous_ShouldTagResponseWithCatalogVersion() throws Exception {
+        when(bookService.getCatalogVersion()).thenReturn(7L);
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"catalog-7-eu\""))
+                .andExpect(header().string("Cache-Control", "no-cache"));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getAllBooks_AnonymousWithCurrentEtag_ShouldReturnNotModifiedWithoutQuerying() throws Exception {
+        when(bookService.getCatalogVersion()).thenReturn(7L);
+
+        mockMvc.perform(get("/books").header("If-None-Match", "W/\"catalog-7-eu\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, never()).getAllBooks(any(BookFilter.class), any(Pageable.class));
+        verify(bookService, never()).getGenreFacets();
+    }
+
+    @Test
+    @WithMockUser(username = "client@test.com", roles = "CUSTOMER")
+    void getAllBooks_Authenticated_ShouldNotUseEtag() throws Exception {
+        when(clientService.getClientByEmail(any())).thenReturn(new ClientDTO());
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        mockMvc.perform(get("/books").header("If-None-Match", "W/\"catalog-0-eu\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getBookDetails_AnonymousWithCurrentEtag_ShouldReturnNotModified() throws Exception {
+        when(bookService.getBookVersion("dune")).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/books/{slug}", "dune").header("If-None-Match", "W/\"book-dune-3-eu\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookService, never()).getBookBySlug(any());
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getBookDetails_ChangedVersion_ShouldRenderPage() throws Exception {
+        when(bookService.getBookVersion("dune")).thenReturn(Optional.of(4L));
+        when(bookService.getBookBySlug("dune")).thenReturn(new BookDTO());
+
+        mockMvc.perform(get("/books/{slug}", "dune").header("If-None-Match", "W/\"book-dune-3-eu\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"book-dune-4-eu\""));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@test.com", roles = "EMPLOYEE")
+    void getAllBooks_ShouldRenderCardsForCurrentRole() throws Exception {
+        BookCardDTO card = new BookCardDTO(11L, "Dune", "Frank Herbert", "Sci-Fi", new BigDecimal("12.50"), 3, null, "dune", 0);
+        when(bookService.getAllBooks(any(BookFilter.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(card)));
+
+        mockMvc.perform(get("/books"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("cards", hasSize(1)))
+                .andExpect(content().string(containsString("href=\"/books/dune\"")))
+                .andExpect(content().string(containsString("href=\"/books/edit/11\"")))
+                .andExpect(content().string(not(containsString("href=\"/login\" class=\"btn btn-outline-warning"))));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getBookDetails_ShouldListFrequentlyBoughtTogether() throws Exception {
+        BookDTO book = new BookDTO();
+        book.setId(1L);
+        BookCardDTO related = new BookCardDTO(2L, "Children of Dune", "Frank Herbert", "Sci-Fi",
+                new BigDecimal("9.99"), 4, null, "children-of-dune", 0);
+        when(bookService.getBookBySlug("dune")).thenReturn(book);
+        when(bookService.getFrequentlyBoughtTogether(1L)).thenReturn(List.of(related));
+
+        mockMvc.perform(get("/books/{slug}", "dune"))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("boughtTogether", List.of(related)))
+                .andExpect(content().string(containsString("href=\"/books/children-of-dune\"")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void bestsellers_ShouldReturnRankingForWindowAndGenre() throws Exception {
+        when(bestsellerService.getBestsellers(BestsellerWindow.LAST_24_HOURS, "Sci-Fi", 5))
+                .thenReturn(List.of(new BestsellerDTO(1L, "Dune", "Frank Herbert", "dune", 12)));
+
+        mockMvc.perform(get("/books/bestsellers")
+                        .param("window", "LAST_24_HOURS")
+                        .param("genre", "Sci-Fi")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].slug").value("dune"))
+                .andExpect(jsonPath("$[0].unitsSold").value(12));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void bestsellers_DefaultsToLastSevenDays() throws Exception {
+        mockMvc.perform(get("/books/bestsellers"))
+                .andExpect(status().isOk());
+
+        verify(bestsellerService).getBestsellers(BestsellerWindow.LAST_7_DAYS, null, 10);
+    }
+}
@@ -9,7 +9,6 @@ import com.epam.rd.autocode.spring.project.service.CartService;
 import com.epam.rd.autocode.spring.project.service.ClientService;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import com.epam.rd.autocode.spring.project.service.OrderService;
-import jakarta.servlet.http.HttpSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -81,7 +81,7 @@ class CartControllerTest {
         client.setBalance(BigDecimal.valueOf(1000));
         when(clientService.getClientByEmail("rich@client.com")).thenReturn(client);
 
-        when(cartService.getCart(any())).thenReturn(Collections.emptyList());
+        when(cartService.getCart("rich@client.com")).thenReturn(Collections.emptyList());
         when(cartService.calculateTotal(any())).thenReturn(BigDecimal.ZERO);
 
         mockMvc.perform(get("/cart"))
@@ -100,7 +100,7 @@ class CartControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/books"));
 
-        verify(cartService).addItem(any(HttpSession.class), eq(1L), eq(2));
+        verify(cartService).addItem("user", 1L, 2);
     }
 
     @Test
@@ -124,7 +124,7 @@ class CartControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/cart"));
 
-        verify(cartService).removeItem(any(HttpSession.class), eq(5L));
+        verify(cartService).removeItem("user", 5L);
     }
 
     @Test
@@ -137,14 +137,17 @@ class CartControllerTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/cart"));
 
-        verify(cartService).updateItemQuantity(any(HttpSession.class), eq(5L), eq(10));
+        verify(cartService).updateItemQuantity("user", 5L, 10);
     }
 
     @Test
     @WithMockUser(roles = "CUSTOMER")
     void checkout_Success_ShouldRedirectToMyOrders() throws Exception {
         List<CartItem> cart = List.of(new CartItem());
-        when(cartService.getCart(any())).thenReturn(cart);
+        when(cartService.checkout(eq("user"), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<List<CartItem>>>getArgument(1).accept(cart);
+            return true;
+        });
 
         mockMvc.perform(post("/cart/checkout")
                         .with(csrf()))
@@ -152,13 +155,13 @@ class CartControllerTest {
                 .andExpect(redirectedUrl("/orders/my"));
 
         verify(orderService).createOrderFromCart(cart);
-        verify(cartService).clearCart(any(HttpSession.class));
+        verify(cartService, never()).clearCart(any());
     }
 
     @Test
     @WithMockUser(roles = "CUSTOMER")
     void checkout_EmptyCart_ShouldRedirectToCart() throws Exception {
-        when(cartService.getCart(any())).thenReturn(Collections.emptyList());
+        when(cartService.checkout(eq("user"), any())).thenReturn(false);
 
         mockMvc.perform(post("/cart/checkout")
                         .with(csrf()))
@@ -172,9 +175,10 @@ class CartControllerTest {
     @WithMockUser(roles = "CUSTOMER")
     void checkout_ServiceError_ShouldRedirectToCartWithError() throws Exception {
         List<CartItem> cart = List.of(new CartItem());
-        when(cartService.getCart(any())).thenReturn(cart);
-
-
+        when(cartService.checkout(eq("user"), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<List<CartItem>>>getArgument(1).accept(cart);
+            return true;
+        });
         doThrow(new RuntimeException("Not enough money"))
                 .when(orderService).createOrderFromCart(cart);
 
@@ -185,4 +189,4 @@ class CartControllerTest {
 
         verify(cartService, never()).clearCart(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.epam.rd.autocode.spring.project.controller;
+
+import com.epam.rd.autocode.spring.project.conf.SecurityConfig;
+import com.epam.rd.autocode.spring.project.security.JwtUtils;
+import com.epam.rd.autocode.spring.project.service.ClientService;
+import com.epam.rd.autocode.spring.project.service.CoverStorageService;
+import com.epam.rd.autocode.spring.project.service.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithAnonymousUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CoverController.class)
+@Import(SecurityConfig.class)
+class CoverControllerTest {
+
+    private static final String HASH = "ab".repeat(32);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CoverStorageService coverStorageService;
+
+    @MockBean
+    private ClientService clientService;
+
+    @MockBean
+    private EmployeeService employeeService;
+
+    @MockBean
+    private AuthenticationManager authenticationManager;
+
+    @MockBean
+    private JwtUtils jwtUtils;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    @WithAnonymousUser
+    void getCover_ShouldStreamFileWithStrongEtagAndImmutableCaching() throws Exception {
+        Path file = Files.write(dir.resolve(HASH + ".png"), new byte[] {1, 2, 3});
+        when(coverStorageService.resolve(HASH + ".png", false)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/covers/{file}", HASH + ".png"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(new byte[] {1, 2, 3}))
+                .andExpect(header().string("ETag", "\"" + HASH + "\""))
+                .andExpect(header().string("Cache-Control", containsString("immutable")));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCover_RangeRequest_ShouldReturnOnlyRequestedBytes() throws Exception {
+        Path file = Files.write(dir.resolve(HASH + ".png"), new byte[] {1, 2, 3, 4, 5});
+        when(coverStorageService.resolve(HASH + ".png", false)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/covers/{file}", HASH + ".png")
+                        .header("Range", "bytes=1-2"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 1-2/5"))
+                .andExpect(content().bytes(new byte[] {2, 3}));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getThumbnail_MatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        Path file = Files.write(dir.resolve(HASH + ".jpg"), new byte[] {1});
+        when(coverStorageService.resolve(HASH + ".jpg", true)).thenReturn(Optional.of(file));
+
+        mockMvc.perform(get("/covers/thumbs/{file}", HASH + ".jpg")
+                        .header("If-None-Match", "\"" + HASH + "-thumb\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithAnonymousUser
+    void getCover_Unknown_ShouldReturnNotFound() throws Exception {
+        when(coverStorageService.resolve(anyString(), anyBoolean())).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/covers/{file}", "missing.png"))
+                .andExpect(status().isNotFound());
+    }
+}
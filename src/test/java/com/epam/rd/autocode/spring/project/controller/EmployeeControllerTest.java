@@ -1,9 +1,12 @@
 package com.epam.rd.autocode.spring.project.controller;
 
 import com.epam.rd.autocode.spring.project.conf.SecurityConfig;
+import com.epam.rd.autocode.spring.project.dto.CacheRegionStatsDTO;
+import com.epam.rd.autocode.spring.project.dto.CacheStatisticsDTO;
 import com.epam.rd.autocode.spring.project.dto.ClientDTO;
 import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
 import com.epam.rd.autocode.spring.project.security.JwtUtils;
+import com.epam.rd.autocode.spring.project.service.CacheStatisticsService;
 import com.epam.rd.autocode.spring.project.service.ClientService;
 import com.epam.rd.autocode.spring.project.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +21,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,6 +45,9 @@ class EmployeeControllerTest {
     @MockBean
     private ClientService clientService;
 
+    @MockBean
+    private CacheStatisticsService cacheStatisticsService;
+
     @MockBean
     private AuthenticationManager authenticationManager;
 
@@ -128,4 +135,26 @@ class EmployeeControllerTest {
 
         verify(employeeService, times(2)).getEmployeeByEmail("emp@store.com");
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(username = "emp@store.com", roles = "EMPLOYEE")
+    void cacheStatistics_Employee_ShouldReturnJson() throws Exception {
+        when(cacheStatisticsService.getStatistics()).thenReturn(new CacheStatisticsDTO(5, 2, 3, 1, 1, 1,
+                List.of(new CacheRegionStatsDTO("books", 5, 2, 3))));
+
+        mockMvc.perform(get("/employees/cache-stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.secondLevelHits").value(5))
+                .andExpect(jsonPath("$.regions[0].region").value("books"))
+                .andExpect(jsonPath("$.regions[0].misses").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void cacheStatistics_Customer_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/employees/cache-stats"))
+                .andExpect(status().isForbidden());
+
+        verify(cacheStatisticsService, never()).getStatistics();
+    }
+}
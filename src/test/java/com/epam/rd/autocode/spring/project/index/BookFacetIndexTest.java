@@ -0,0 +1,109 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.FacetCountsDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookFacetIndexTest {
+
+    private final BookOrdinals bookOrdinals = new BookOrdinals();
+    private BookFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookFacetIndex(bookOrdinals);
+        index.put(book(1L, "Fantasy", Language.ENGLISH, AgeGroup.TEEN, "16.50", 20));
+        index.put(book(2L, "Fantasy", Language.UKRAINIAN, AgeGroup.TEEN, "15.99", 0));
+        index.put(book(3L, "Mystery", Language.ENGLISH, AgeGroup.ADULT, "29.95", 4));
+        index.put(book(4L, "Fantasy", Language.ENGLISH, AgeGroup.ADULT, "55.00", 1));
+    }
+
+    @Test
+    void match_ShouldIntersectAllFilters() {
+        BookFilter filter = new BookFilter(null, "Fantasy", Language.ENGLISH, null, null, true);
+
+        assertEquals(bookOrdinals.toBitSet(List.of(1L, 4L)), index.match(filter, null));
+    }
+
+    @Test
+    void match_ShouldRestrictToCandidates() {
+        BookFilter filter = new BookFilter(null, "Fantasy", null, null, null, false);
+
+        BitSet result = index.match(filter, bookOrdinals.toBitSet(List.of(2L, 3L)));
+
+        assertEquals(bookOrdinals.toBitSet(List.of(2L)), result);
+    }
+
+    @Test
+    void match_UnknownGenre_ShouldReturnEmpty() {
+        assertTrue(index.match(new BookFilter(null, "Poetry"), null).isEmpty());
+    }
+
+    @Test
+    void count_ShouldIgnoreOwnDimensionForEachFacet() {
+        BookFilter filter = new BookFilter(null, "Fantasy", null, null, PriceBand.FROM_10_TO_20, false);
+
+        FacetCountsDTO counts = index.count(filter, null);
+
+        assertEquals(2, counts.getTotal());
+        assertEquals(2L, counts.getGenres().get("Fantasy"));
+        assertNull(counts.getGenres().get("Mystery"));
+        assertEquals(2L, counts.getPriceBands().get(PriceBand.FROM_10_TO_20));
+        assertEquals(1L, counts.getPriceBands().get(PriceBand.OVER_50));
+        assertEquals(1L, counts.getLanguages().get(Language.UKRAINIAN));
+        assertEquals(1, counts.getInStock());
+    }
+
+    @Test
+    void put_StockChange_ShouldUpdateInStockBitmap() {
+        index.put(book(2L, "Fantasy", Language.UKRAINIAN, AgeGroup.TEEN, "15.99", 3));
+        index.put(book(1L, "Fantasy", Language.ENGLISH, AgeGroup.TEEN, "16.50", 0));
+
+        BitSet inStock = index.match(new BookFilter(null, "Fantasy", null, null, null, true), null);
+
+        assertEquals(bookOrdinals.toBitSet(List.of(2L, 4L)), inStock);
+    }
+
+    @Test
+    void remove_ShouldClearBookFromAllBitmaps() {
+        index.remove(3L);
+
+        FacetCountsDTO counts = index.count(new BookFilter(), null);
+        assertEquals(3, counts.getTotal());
+        assertFalse(counts.getGenres().containsKey("Mystery"));
+        assertEquals(1L, counts.getAgeGroups().get(AgeGroup.ADULT));
+    }
+
+    @Test
+    void sortedPage_ShouldOrderMatchesBySortAndSkipOffset() {
+        BitSet all = index.match(new BookFilter(), null);
+
+        assertEquals(List.of(4L, 3L), index.sortedPage(all, Sort.by(Sort.Direction.DESC, "price"), 0, 2));
+        assertEquals(List.of(1L, 3L), index.sortedPage(all, Sort.by("price"), 1, 2));
+        assertEquals(List.of(2L, 4L, 3L, 1L), index.sortedPage(all, Sort.by("quantity"), 0, 10));
+    }
+
+    private Book book(Long id, String genre, Language language, AgeGroup ageGroup, String price, int quantity) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName("Book " + id);
+        book.setGenre(genre);
+        book.setLanguage(language);
+        book.setAgeGroup(ageGroup);
+        book.setPrice(new BigDecimal(price));
+        book.setQuantity(quantity);
+        return book;
+    }
+}
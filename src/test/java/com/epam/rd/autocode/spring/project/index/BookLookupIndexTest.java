@@ -0,0 +1,62 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookLookupIndexTest {
+
+    private final BookLookupIndex index = new BookLookupIndex();
+
+    @Test
+    void put_ShouldResolveIdByNameAndSlug() {
+        index.put(book(1L, "Dune", "dune"));
+
+        assertEquals(Optional.of(1L), index.findIdByName("Dune"));
+        assertEquals(Optional.of(1L), index.findIdBySlug("dune"));
+        assertTrue(index.findIdByName("dune").isEmpty());
+    }
+
+    @Test
+    void put_Rename_ShouldDropOldKeys() {
+        index.put(book(1L, "Dune", "dune"));
+
+        index.put(book(1L, "Dune Messiah", "dune-messiah"));
+
+        assertTrue(index.findIdByName("Dune").isEmpty());
+        assertTrue(index.findIdBySlug("dune").isEmpty());
+        assertEquals(Optional.of(1L), index.findIdBySlug("dune-messiah"));
+    }
+
+    @Test
+    void put_KeyTakenOverByAnotherBook_ShouldKeepNewOwnerOnOldBookUpdate() {
+        index.put(book(1L, "Dune", "dune"));
+        index.put(book(2L, "Dune", "dune"));
+
+        index.put(book(1L, "Other", "other"));
+
+        assertEquals(Optional.of(2L), index.findIdByName("Dune"));
+        assertEquals(Optional.of(2L), index.findIdBySlug("dune"));
+    }
+
+    @Test
+    void remove_ShouldForgetBook() {
+        index.put(book(1L, "Dune", "dune"));
+
+        index.remove(1L);
+
+        assertTrue(index.findIdByName("Dune").isEmpty());
+        assertTrue(index.findIdBySlug("dune").isEmpty());
+    }
+
+    private Book book(Long id, String name, String slug) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setSlug(slug);
+        return book;
+    }
+}
@@ -0,0 +1,86 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex();
+        index.put(book(1L, "Echoes of Eternity", "Daniel Black", "Fantasy", "A spellbinding tale of magic"));
+        index.put(book(2L, "Serenade of Souls", "Isabella Reed", "Fantasy", "A magical fantasy filled with wonder"));
+        index.put(book(3L, "Silent Whispers", "Benjamin Hall", "Mystery", "A mystery that keeps you on the edge"));
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        index.put(book(4L, "Fantasy Atlas", "Someone Else", "Reference", "Maps"));
+
+        List<Long> result = index.search("fantasy");
+
+        assertEquals(4L, result.get(0));
+        assertTrue(result.containsAll(List.of(1L, 2L)));
+    }
+
+    @Test
+    void search_ShouldMatchPrefixesCaseInsensitively() {
+        assertEquals(List.of(3L), index.search("WHISP"));
+        assertEquals(List.of(1L), index.search("dan"));
+    }
+
+    @Test
+    void search_ShouldMatchAcrossCyrillicAndLatinSpellings() {
+        index.put(book(4L, "Лісова пісня", "Леся Українка", "Drama", null));
+        index.put(book(5L, "Chornobyl", "Serhii Plokhy", "History", null));
+
+        assertEquals(List.of(4L), index.search("lisova"));
+        assertEquals(List.of(4L), index.search("Леся"));
+        assertEquals(List.of(5L), index.search("Чорнобиль"));
+    }
+
+    @Test
+    void search_MultipleTokens_ShouldRequireAllTokens() {
+        assertEquals(List.of(2L), index.search("isabella fantasy"));
+        assertTrue(index.search("isabella mystery").isEmpty());
+    }
+
+    @Test
+    void put_ExistingBook_ShouldReplaceOldTerms() {
+        index.put(book(3L, "Loud Voices", "Benjamin Hall", "Mystery", null));
+
+        assertTrue(index.search("whispers").isEmpty());
+        assertEquals(List.of(3L), index.search("loud"));
+    }
+
+    @Test
+    void remove_ShouldDropBookFromResults() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L), index.search("fantasy"));
+    }
+
+    @Test
+    void clear_ShouldEmptyIndex() {
+        index.clear();
+
+        assertTrue(index.search("fantasy").isEmpty());
+    }
+
+    private Book book(Long id, String name, String author, String genre, String description) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setGenre(genre);
+        book.setDescription(description);
+        return book;
+    }
+}
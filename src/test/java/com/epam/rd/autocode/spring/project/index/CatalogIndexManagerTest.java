@@ -0,0 +1,95 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class CatalogIndexManagerTest {
+
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final CatalogIndex index = mock(CatalogIndex.class);
+    private final BookOrdinals bookOrdinals = new BookOrdinals();
+    private final BookFacetIndex facetIndex = new BookFacetIndex(bookOrdinals);
+    private final CatalogIndexManager manager =
+            new CatalogIndexManager(bookRepository, List.of(index, facetIndex), bookOrdinals);
+
+    @Test
+    void rebuild_ShouldIndexEveryBookAndBecomeReady() {
+        when(bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(book(1L), book(2L)));
+
+        manager.rebuild();
+
+        assertTrue(manager.isReady());
+        verify(index).clear();
+        verify(index, times(2)).put(any(Book.class));
+    }
+
+    @Test
+    void rebuild_LargeIds_ShouldIndexThemAtDenseOrdinals() {
+        long largeId = Integer.MAX_VALUE + 5L;
+        when(bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(book(1L), book(largeId)));
+
+        manager.rebuild();
+
+        assertTrue(manager.isReady());
+        assertEquals(1, bookOrdinals.find(largeId));
+        assertEquals(List.of(largeId), facetIndex.sortedPage(bookOrdinals.toBitSet(List.of(largeId)), Sort.unsorted(), 0, 10));
+    }
+
+    @Test
+    void onBookChanged_LargeId_ShouldStayServedFromIndex() {
+        long largeId = Long.MAX_VALUE - 1;
+        when(bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(anyLong())).thenReturn(List.of());
+        manager.rebuild();
+
+        manager.onBookChanged(BookChangedEvent.saved(book(largeId)));
+        manager.onBookChanged(BookChangedEvent.deleted(largeId));
+
+        assertTrue(manager.isReady());
+        verify(index).put(any(Book.class));
+        verify(index).remove(largeId);
+        assertTrue(facetIndex.match(new BookFilter(null, null), null).isEmpty());
+    }
+
+    @Test
+    void rebuild_AfterFailure_ShouldRecover() {
+        when(bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenReturn(List.of(book(1L)));
+
+        manager.rebuild();
+        assertFalse(manager.isReady());
+
+        manager.rebuild();
+        assertTrue(manager.isReady());
+        assertEquals(0, bookOrdinals.find(1L));
+    }
+
+    @Test
+    void rebuild_ShouldRestartOrdinalsFromZero() {
+        when(bookRepository.findTop1000ByIdGreaterThanOrderByIdAsc(0L)).thenReturn(List.of(book(7L)));
+        bookOrdinals.assign(3L);
+
+        manager.rebuild();
+
+        assertEquals(-1, bookOrdinals.find(3L));
+        assertEquals(0, bookOrdinals.find(7L));
+    }
+
+    private Book book(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName("Book " + id);
+        return book;
+    }
+}
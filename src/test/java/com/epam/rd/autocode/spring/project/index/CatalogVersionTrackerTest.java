@@ -0,0 +1,53 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogVersionTrackerTest {
+
+    private final CatalogVersionTracker tracker = new CatalogVersionTracker();
+
+    @Test
+    void onBookChanged_ShouldBumpCatalogAndOnlyThatBook() {
+        long catalog = tracker.getCatalogVersion();
+        long first = tracker.getBookVersion(1L);
+        long second = tracker.getBookVersion(2L);
+
+        tracker.onBookChanged(BookChangedEvent.saved(book(1L)));
+
+        assertTrue(tracker.getCatalogVersion() > catalog);
+        assertTrue(tracker.getBookVersion(1L) > first);
+        assertEquals(second, tracker.getBookVersion(2L));
+    }
+
+    @Test
+    void onBookChanged_Deleted_ShouldStillBumpBookVersion() {
+        long before = tracker.getBookVersion(1L);
+
+        tracker.onBookChanged(BookChangedEvent.deleted(1L));
+
+        assertTrue(tracker.getBookVersion(1L) > before);
+    }
+
+    @Test
+    void bumpAll_ShouldInvalidateEveryBook() {
+        tracker.onBookChanged(BookChangedEvent.saved(book(1L)));
+        long first = tracker.getBookVersion(1L);
+        long untouched = tracker.getBookVersion(2L);
+
+        tracker.bumpAll();
+
+        assertTrue(tracker.getBookVersion(1L) > first);
+        assertTrue(tracker.getBookVersion(2L) > untouched);
+        assertEquals(tracker.getCatalogVersion(), tracker.getBookVersion(2L));
+    }
+
+    private Book book(Long id) {
+        Book book = new Book();
+        book.setId(id);
+        return book;
+    }
+}
@@ -0,0 +1,161 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.*;
+
+class CoPurchaseIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final CatalogVersionTracker catalogVersionTracker = mock(CatalogVersionTracker.class);
+    private final CoPurchaseIndex index = new CoPurchaseIndex(jdbcTemplate, catalogVersionTracker);
+
+    @Test
+    void rebuild_ShouldCountHistoricalPairsAndRankNeighbours() {
+        history(new long[][]{{1, 1}, {1, 2}, {1, 3}, {2, 1}, {2, 2}, {3, 1}, {3, 4}, {4, 5}}, null);
+
+        index.rebuild();
+
+        assertEquals(List.of(2L, 3L, 4L), index.neighbours(1L));
+        assertEquals(List.of(1L, 3L), index.neighbours(2L));
+        assertEquals(List.of(), index.neighbours(5L));
+        assertEquals(2, index.count(1L, 2L));
+        verify(catalogVersionTracker).bumpAll();
+    }
+
+    @Test
+    void onSalesRecorded_ShouldUpdateNeighboursIncrementally() {
+        index.onSalesRecorded(placed(1L, 1L, 2L));
+        index.onSalesRecorded(placed(2L, 1L, 3L, 3L));
+        index.onSalesRecorded(placed(3L, 1L, 3L));
+
+        assertEquals(List.of(3L, 2L), index.neighbours(1L));
+        assertEquals(List.of(1L), index.neighbours(3L));
+        assertEquals(2, index.count(3L, 1L));
+    }
+
+    @Test
+    void onSalesRecorded_SingleBook_ShouldNotCreateNeighbours() {
+        index.onSalesRecorded(placed(1L, 1L, 1L));
+
+        assertEquals(List.of(), index.neighbours(1L));
+    }
+
+    @Test
+    void neighbours_ShouldBeBoundedToTopN() {
+        index.onSalesRecorded(placed(1L, LongStream.rangeClosed(1, 20).boxed().toArray(Long[]::new)));
+
+        assertEquals(CoPurchaseIndex.TOP_N, index.neighbours(1L).size());
+    }
+
+    @Test
+    void rebuild_OrdersPlacedDuringBackfill_ShouldBeAppliedOnceAfterwards() {
+        history(new long[][]{{1, 1}, {1, 2}}, () -> {
+            index.onSalesRecorded(placed(1L, 1L, 2L));
+            index.onSalesRecorded(placed(9L, 1L, 3L));
+        });
+
+        index.rebuild();
+
+        assertEquals(1, index.count(1L, 2L));
+        assertEquals(1, index.count(1L, 3L));
+        assertEquals(List.of(2L, 3L), index.neighbours(1L));
+    }
+
+    @Test
+    void onSalesRecorded_Cancellation_ShouldSubtractPairsAndDropEmptyNeighbours() {
+        index.onSalesRecorded(placed(1L, 1L, 2L));
+        index.onSalesRecorded(placed(2L, 1L, 2L, 3L));
+
+        index.onSalesRecorded(canceled(2L, 1L, 2L, 3L));
+
+        assertEquals(1, index.count(1L, 2L));
+        assertEquals(0, index.count(1L, 3L));
+        assertEquals(List.of(2L), index.neighbours(1L));
+        assertEquals(List.of(), index.neighbours(3L));
+    }
+
+    @Test
+    void rebuild_ShouldSkipCanceledOrders() {
+        history(new long[][]{{1, 1}, {1, 2}}, null);
+
+        index.rebuild();
+
+        verify(jdbcTemplate).query(contains("o.status <> 'CANCELED'"), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void rebuild_CancellationDuringBackfill_ShouldOnlyReverseBackfilledOrders() {
+        history(new long[][]{{1, 1}, {1, 2}, {2, 1}, {2, 2}}, () -> {
+            index.onSalesRecorded(canceled(1L, 1L, 2L));
+            index.onSalesRecorded(canceled(7L, 1L, 2L));
+        });
+
+        index.rebuild();
+
+        assertEquals(1, index.count(1L, 2L));
+    }
+
+    @Test
+    void pairCounts_ShouldKeepABoundedNumberOfCandidatesPerBook() {
+        for (long order = 0; order < 500; order++) {
+            index.onSalesRecorded(placed(order, 1L, 1000L + order));
+        }
+        index.onSalesRecorded(placed(900L, 1L, 1000L));
+
+        long kept = LongStream.range(0, 500).filter(order -> index.count(1L, 1000L + order) > 0).count();
+        assertTrue(kept <= CoPurchaseIndex.MAX_CANDIDATES * 2, "kept " + kept);
+        assertEquals(1000L, index.neighbours(1L).get(0));
+    }
+
+    @Test
+    void rebuild_QueryFails_ShouldKeepServingLiveOrders() {
+        doThrow(new IllegalStateException("db down")).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.rebuild();
+        index.onSalesRecorded(placed(1L, 1L, 2L));
+
+        assertEquals(List.of(2L), index.neighbours(1L));
+    }
+
+    private SalesRecordedEvent placed(long orderId, Long... bookIds) {
+        return new SalesRecordedEvent(orderId, null, lines(bookIds), false);
+    }
+
+    private SalesRecordedEvent canceled(long orderId, Long... bookIds) {
+        return new SalesRecordedEvent(orderId, null, lines(bookIds), true);
+    }
+
+    private List<OrderLine> lines(Long... bookIds) {
+        return Arrays.stream(bookIds).map(id -> new OrderLine(id, null, 1)).toList();
+    }
+
+    private void history(long[][] rows, Runnable duringScan) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(row[0]);
+                when(rs.getLong(2)).thenReturn(row[1]);
+                handler.processRow(rs);
+            }
+            if (duringScan != null) {
+                duringScan.run();
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+}
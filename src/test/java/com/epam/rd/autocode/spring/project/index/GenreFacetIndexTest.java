@@ -0,0 +1,62 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenreFacetIndexTest {
+
+    private final GenreFacetIndex index = new GenreFacetIndex();
+
+    @Test
+    void put_ShouldCountTotalAndInStockPerGenre() {
+        index.put(book(1L, "Fantasy", 5));
+        index.put(book(2L, "Fantasy", 0));
+        index.put(book(3L, "Mystery", 1));
+
+        assertEquals(List.of(
+                new GenreFacetDTO("Fantasy", 2, 1),
+                new GenreFacetDTO("Mystery", 1, 1)), index.getFacets());
+    }
+
+    @Test
+    void put_StockChange_ShouldMoveBookOutOfInStockCount() {
+        index.put(book(1L, "Fantasy", 1));
+
+        index.put(book(1L, "Fantasy", 0));
+
+        assertEquals(List.of(new GenreFacetDTO("Fantasy", 1, 0)), index.getFacets());
+    }
+
+    @Test
+    void put_GenreChange_ShouldDropEmptyGenre() {
+        index.put(book(1L, "Fantasy", 1));
+
+        index.put(book(1L, "Romance", 1));
+
+        assertEquals(List.of("Romance"), index.getGenres());
+    }
+
+    @Test
+    void remove_ShouldDecrementCounts() {
+        index.put(book(1L, "Fantasy", 1));
+        index.put(book(2L, "Fantasy", 1));
+
+        index.remove(1L);
+        index.remove(42L);
+
+        assertEquals(List.of(new GenreFacetDTO("Fantasy", 1, 1)), index.getFacets());
+    }
+
+    private Book book(Long id, String genre, int quantity) {
+        Book book = new Book();
+        book.setId(id);
+        book.setGenre(genre);
+        book.setQuantity(quantity);
+        return book;
+    }
+}
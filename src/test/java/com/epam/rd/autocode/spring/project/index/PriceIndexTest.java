@@ -0,0 +1,99 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriceIndexTest {
+
+    private final BookOrdinals bookOrdinals = new BookOrdinals();
+    private PriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PriceIndex(bookOrdinals);
+        index.put(book(1L, "4.99"));
+        index.put(book(2L, "10.00"));
+        index.put(book(3L, "10.00"));
+        index.put(book(4L, "15.50"));
+        index.put(book(5L, "29.95"));
+    }
+
+    @Test
+    void range_ShouldIncludeBothBounds() {
+        assertEquals(bookOrdinals.toBitSet(List.of(2L, 3L, 4L)),
+                index.range(new BigDecimal("10"), new BigDecimal("15.50")));
+    }
+
+    @Test
+    void range_OpenBounds_ShouldReturnEverythingOnThatSide() {
+        assertEquals(bookOrdinals.toBitSet(List.of(4L, 5L)), index.range(new BigDecimal("10.01"), null));
+        assertEquals(bookOrdinals.toBitSet(List.of(1L)), index.range(null, new BigDecimal("9.99")));
+    }
+
+    @Test
+    void range_MinAboveMax_ShouldReturnEmpty() {
+        assertTrue(index.range(new BigDecimal("20"), new BigDecimal("10")).isEmpty());
+    }
+
+    @Test
+    void put_ExistingBook_ShouldMoveItToNewPrice() {
+        index.put(book(2L, "35.00"));
+
+        assertEquals(bookOrdinals.toBitSet(List.of(3L)), index.range(new BigDecimal("10"), new BigDecimal("10")));
+        assertEquals(bookOrdinals.toBitSet(List.of(2L)), index.range(new BigDecimal("30"), null));
+    }
+
+    @Test
+    void remove_ShouldDropBookFromRangesAndHistogram() {
+        index.remove(5L);
+
+        assertTrue(index.range(new BigDecimal("20"), null).isEmpty());
+        assertEquals(new BigDecimal("15.50"), index.histogram().getMax());
+    }
+
+    @Test
+    void histogram_ShouldCountBooksPerBar() {
+        PriceHistogramDTO histogram = index.histogram();
+
+        assertEquals(new BigDecimal("4.99"), histogram.getMin());
+        assertEquals(new BigDecimal("29.95"), histogram.getMax());
+        assertTrue(histogram.getBars().size() <= PriceIndex.MAX_BARS);
+        assertEquals(5, histogram.getBars().stream().mapToLong(PriceHistogramDTO.Bar::getCount).sum());
+        assertEquals(2, histogram.getMaxCount());
+        assertEquals(new BigDecimal("4.00"), histogram.getBars().get(0).getFrom());
+    }
+
+    @Test
+    void histogram_ShouldBeCachedUntilNextWrite() {
+        PriceHistogramDTO first = index.histogram();
+
+        assertSame(first, index.histogram());
+
+        index.put(book(6L, "10.00"));
+        PriceHistogramDTO second = index.histogram();
+
+        assertNotSame(first, second);
+        assertEquals(3, second.getMaxCount());
+    }
+
+    @Test
+    void histogram_EmptyIndex_ShouldHaveNoBars() {
+        index.clear();
+
+        assertTrue(index.histogram().getBars().isEmpty());
+    }
+
+    private Book book(Long id, String price) {
+        Book book = new Book();
+        book.setId(id);
+        book.setPrice(new BigDecimal(price));
+        return book;
+    }
+}
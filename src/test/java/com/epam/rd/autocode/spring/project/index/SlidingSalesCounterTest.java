@@ -0,0 +1,67 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingSalesCounterTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:30:00Z");
+
+    @Test
+    void top_ShouldSumBucketsInsideWindowAndRankByUnits() {
+        SlidingSalesCounter counter = new SlidingSalesCounter(BestsellerWindow.LAST_24_HOURS, 10);
+        counter.add(NOW.minus(Duration.ofHours(5)), 1L, 2);
+        counter.add(NOW, 1L, 1);
+        counter.add(NOW.minus(Duration.ofHours(2)), 2L, 5);
+
+        assertEquals(List.of(Map.entry(2L, 5L), Map.entry(1L, 3L)), counter.top(NOW, 10));
+    }
+
+    @Test
+    void top_ShouldDropSalesThatSlidOutOfWindow() {
+        SlidingSalesCounter counter = new SlidingSalesCounter(BestsellerWindow.LAST_24_HOURS, 10);
+        counter.add(NOW.minus(Duration.ofHours(23)), 1L, 4);
+        counter.add(NOW, 2L, 1);
+
+        assertEquals(List.of(Map.entry(1L, 4L), Map.entry(2L, 1L)), counter.top(NOW, 10));
+        assertEquals(List.of(Map.entry(2L, 1L)), counter.top(NOW.plus(Duration.ofHours(2)), 10));
+    }
+
+    @Test
+    void add_SaleOlderThanWindow_ShouldBeIgnored() {
+        SlidingSalesCounter counter = new SlidingSalesCounter(BestsellerWindow.LAST_24_HOURS, 10);
+        counter.add(NOW, 1L, 1);
+
+        counter.add(NOW.minus(Duration.ofDays(2)), 2L, 9);
+
+        assertEquals(List.of(Map.entry(1L, 1L)), counter.top(NOW, 10));
+    }
+
+    @Test
+    void subtract_ShouldReverseSaleInItsOriginalBucket() {
+        SlidingSalesCounter counter = new SlidingSalesCounter(BestsellerWindow.LAST_7_DAYS, 10);
+        Instant placedAt = NOW.minus(Duration.ofDays(3));
+        counter.add(placedAt, 1L, 3);
+        counter.add(NOW, 1L, 1);
+
+        counter.subtract(placedAt, 1L, 3);
+
+        assertEquals(List.of(Map.entry(1L, 1L)), counter.top(NOW, 10));
+    }
+
+    @Test
+    void allTime_ShouldNeverExpire() {
+        SlidingSalesCounter counter = new SlidingSalesCounter(BestsellerWindow.ALL_TIME, 10);
+        counter.add(Instant.EPOCH, 1L, 2);
+        counter.add(NOW, 2L, 1);
+
+        assertEquals(List.of(Map.entry(1L, 2L), Map.entry(2L, 1L)), counter.top(NOW, 10));
+    }
+}
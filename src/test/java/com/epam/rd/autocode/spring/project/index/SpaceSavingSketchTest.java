@@ -0,0 +1,72 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingSketchTest {
+
+    @Test
+    void add_WithinCapacity_ShouldCountExactly() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+
+        sketch.add(1L, 2);
+        sketch.add(2L, 1);
+        sketch.add(1L, 3);
+
+        assertEquals(5, sketch.count(1L));
+        assertEquals(1, sketch.count(2L));
+        assertEquals(2, sketch.size());
+    }
+
+    @Test
+    void add_OverCapacity_ShouldReplaceSmallestCounterAndInheritItsCount() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        sketch.add(1L, 10);
+        sketch.add(2L, 3);
+
+        sketch.add(3L, 1);
+
+        assertEquals(2, sketch.size());
+        assertEquals(0, sketch.count(2L));
+        assertEquals(4, sketch.count(3L));
+        assertEquals(10, sketch.count(1L));
+    }
+
+    @Test
+    void add_ManyKeys_ShouldKeepHeavyHittersWithinBoundedMemory() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        for (long key = 100; key < 10_000; key++) {
+            sketch.add(key, 1);
+            if (key % 10 == 0) {
+                sketch.add(1L, 5);
+            }
+        }
+
+        assertEquals(10, sketch.size());
+        assertTrue(sketch.count(1L) >= 4950);
+    }
+
+    @Test
+    void subtract_ShouldDecreaseAndDropExhaustedCounters() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(3);
+        sketch.add(1L, 5);
+        sketch.add(2L, 2);
+
+        sketch.subtract(1L, 2);
+        sketch.subtract(2L, 5);
+        sketch.subtract(9L, 1);
+
+        Map<Long, Long> counts = new HashMap<>();
+        sketch.forEach(counts::put);
+        assertEquals(Map.of(1L, 3L), counts);
+    }
+
+    @Test
+    void constructor_NonPositiveCapacity_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0));
+    }
+}
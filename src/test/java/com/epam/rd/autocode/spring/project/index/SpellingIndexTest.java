@@ -0,0 +1,93 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpellingIndexTest {
+
+    private SpellingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SpellingIndex();
+        index.put(book(1L, "Harry Potter and the Chamber of Secrets", "J.K. Rowling"));
+        index.put(book(2L, "The Hobbit", "J.R.R. Tolkien"));
+        index.put(book(3L, "Dune", "Frank Herbert"));
+    }
+
+    @Test
+    void correct_ShouldFixTyposInEveryToken() {
+        assertEquals(Optional.of("harry potter"), index.correct("Hary Poter"));
+        assertEquals(Optional.of("tolkien"), index.correct("tolkein"));
+        assertEquals(Optional.of("hobbit"), index.correct("hobit"));
+    }
+
+    @Test
+    void correct_LongWords_ShouldMatchBeyondIndexedPrefix() {
+        assertEquals(Optional.of("chamber secrets"), index.correct("chamber secrest"));
+    }
+
+    @Test
+    void correct_KnownOrUnfixableQuery_ShouldReturnEmpty() {
+        assertTrue(index.correct("dune").isEmpty());
+        assertTrue(index.correct("zzzzzzz").isEmpty());
+        assertTrue(index.correct("   ").isEmpty());
+    }
+
+    @Test
+    void correct_ShortTokens_ShouldAllowOnlyOneEdit() {
+        assertEquals(Optional.of("dune"), index.correct("dnue"));
+        assertTrue(index.correct("dxxe").isEmpty());
+    }
+
+    @Test
+    void correct_SharedPrefixButTooManyEdits_ShouldReturnEmpty() {
+        index.put(book(6L, "Abcdefgpqr", "Nobody"));
+
+        assertTrue(index.correct("abcdefgxyz").isEmpty());
+        assertEquals(Optional.of("abcdefgpqr"), index.correct("abcdefgpxy"));
+    }
+
+    @Test
+    void correct_ShouldPreferWordsSharedByMoreBooks() {
+        index.put(book(4L, "Dune Messiah", "Frank Herbert"));
+        index.put(book(5L, "Dine Out", "Chef"));
+
+        assertEquals(Optional.of("dune"), index.correct("dyne"));
+    }
+
+    @Test
+    void remove_ShouldForgetWordsNoLongerInCatalog() {
+        index.remove(2L);
+
+        assertTrue(index.correct("hobit").isEmpty());
+        assertEquals(Optional.of("herbert"), index.correct("herbet"));
+    }
+
+    @Test
+    void put_ExistingBook_ShouldReplaceItsWords() {
+        index.put(book(3L, "Solaris", "Stanislaw Lem"));
+
+        assertEquals(Optional.of("solaris"), index.correct("solaros"));
+        assertTrue(index.correct("herbet").isEmpty());
+    }
+
+    @Test
+    void distance_ShouldCountTranspositionAsOneEdit() {
+        assertEquals(1, SpellingIndex.distance("hobbit", "hobbti", 2));
+        assertEquals(3, SpellingIndex.distance("abc", "xyzw", 2));
+    }
+
+    private Book book(Long id, String name, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        return book;
+    }
+}
@@ -0,0 +1,104 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionIndexTest {
+
+    private final SuggestionIndex index = new SuggestionIndex();
+
+    @Test
+    void suggest_ShouldCompleteTitlesAndAuthorsCaseInsensitively() {
+        index.put(book(1L, "Harry Potter", "J.K. Rowling"));
+        index.put(book(2L, "Hamlet", "William Shakespeare"));
+
+        assertEquals(List.of("Hamlet", "Harry Potter"), index.suggest("HA", 10));
+        assertEquals(List.of("Harry Potter"), index.suggest("harr", 10));
+        assertEquals(List.of("J.K. Rowling"), index.suggest("j.k", 10));
+        assertTrue(index.suggest("hx", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_PrefixEndingInsideCompressedEdge_ShouldMatch() {
+        index.put(book(1L, "Dune", "Frank Herbert"));
+        index.put(book(2L, "Dune Messiah", "Frank Herbert"));
+
+        assertEquals(List.of("Dune", "Dune Messiah"), index.suggest("dun", 10));
+        assertEquals(List.of("Dune Messiah"), index.suggest("dune m", 10));
+    }
+
+    @Test
+    void suggest_ShouldRankCompletionsBySales() {
+        index.put(book(1L, "Foundation", "Isaac Asimov", 5));
+        index.put(book(2L, "I, Robot", "Isaac Asimov", 1));
+        index.put(book(3L, "Ivanhoe", "Walter Scott", 20));
+        index.put(book(4L, "Ilium", "Dan Simmons", 0));
+
+        assertEquals(List.of("Ivanhoe", "Isaac Asimov", "I, Robot", "Ilium"), index.suggest("i", 10));
+    }
+
+    @Test
+    void put_SalesChange_ShouldReRankCompletions() {
+        index.put(book(1L, "Emma", "Jane Austen", 3));
+        index.put(book(2L, "Eragon", "Christopher Paolini", 2));
+
+        index.put(book(2L, "Eragon", "Christopher Paolini", 9));
+        index.remove(1L);
+        index.put(book(1L, "Emma", "Jane Austen", 4));
+
+        assertEquals(List.of("Eragon", "Emma"), index.suggest("e", 10));
+        assertEquals(List.of("Jane Austen"), index.suggest("jane", 10));
+    }
+
+    @Test
+    void suggest_ShouldRespectLimitAndTopK() {
+        IntStream.rangeClosed(1, 15).forEach(i -> index.put(book((long) i, "Book " + i, "Author " + i)));
+
+        assertEquals(2, index.suggest("book", 2).size());
+        assertEquals(SuggestionIndex.TOP_K, index.suggest("book", 50).size());
+    }
+
+    @Test
+    void put_Rename_ShouldReplaceOldCompletion() {
+        index.put(book(1L, "Old Title", "Someone"));
+
+        index.put(book(1L, "New Title", "Someone"));
+
+        assertTrue(index.suggest("old", 10).isEmpty());
+        assertEquals(List.of("New Title"), index.suggest("new", 10));
+    }
+
+    @Test
+    void remove_ShouldDropCompletionAndKeepSiblings() {
+        index.put(book(1L, "Dune", "Frank Herbert"));
+        index.put(book(2L, "Dune Messiah", "Frank Herbert"));
+
+        index.remove(1L);
+
+        assertEquals(List.of("Dune Messiah"), index.suggest("du", 10));
+        assertEquals(List.of("Frank Herbert"), index.suggest("fr", 10));
+
+        index.remove(2L);
+
+        assertTrue(index.suggest("d", 10).isEmpty());
+        assertTrue(index.suggest("f", 10).isEmpty());
+    }
+
+    private Book book(Long id, String name, String author) {
+        return book(id, name, author, 0);
+    }
+
+    private Book book(Long id, String name, String author, int salesCount) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setSalesCount(salesCount);
+        return book;
+    }
+}
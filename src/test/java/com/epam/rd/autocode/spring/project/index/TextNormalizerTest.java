@@ -0,0 +1,53 @@
+package com.epam.rd.autocode.spring.project.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextNormalizerTest {
+
+    @Test
+    void normalize_ShouldFoldCaseAndStripDiacritics() {
+        assertEquals("creme brulee", TextNormalizer.normalize("  Crème BRÛLÉE "));
+        assertEquals("strasse", TextNormalizer.normalize("Straße"));
+    }
+
+    @Test
+    void normalize_ShouldTransliterateUkrainian() {
+        assertEquals("kobzar", TextNormalizer.normalize("Кобзар"));
+        assertEquals("zhovtyi shchodennyk", TextNormalizer.normalize("Жовтий щоденник"));
+        assertEquals("kyiv", TextNormalizer.normalize("Київ"));
+        assertEquals("solovina", TextNormalizer.normalize("Солов’їна"));
+    }
+
+    @Test
+    void normalize_ShouldKeepShortLettersThatDecomposeUnderNfd() {
+        assertEquals("yii", TextNormalizer.normalize("їй"));
+    }
+
+    @Test
+    void tokenize_MixedScripts_ShouldProduceSameTokensForBothSpellings() {
+        assertEquals(TextNormalizer.tokenize("Тіні забутих предків"), TextNormalizer.tokenize("tini zabutykh predkiv"));
+    }
+
+    @Test
+    void searchKey_WordInitialLetters_ShouldMatchCommonLatinSpellings() {
+        assertEquals(TextNormalizer.searchKey("Yaroslav Yurii"), TextNormalizer.searchKey("Ярослав Юрій"));
+        assertEquals("yevhen yizhakevych", TextNormalizer.searchKey("Євген Їжакевич"));
+        assertEquals("mariia kyiv", TextNormalizer.searchKey("Марія Київ"));
+    }
+
+    @Test
+    void searchKey_ShouldJoinTokensOfAllValues() {
+        assertEquals("lisova pisnia lesia ukrainka", TextNormalizer.searchKey("Лісова пісня", "Леся Українка"));
+        assertEquals("dune", TextNormalizer.searchKey("Dune", null));
+        assertEquals(List.of(), TextNormalizer.tokenize("?!"));
+    }
+
+    @Test
+    void slugify_CyrillicTitle_ShouldProduceLatinSlug() {
+        assertEquals("misto", TextNormalizer.slugify("Місто"));
+    }
+}
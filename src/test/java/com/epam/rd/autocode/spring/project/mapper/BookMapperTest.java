@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.AgeGroup;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration.AccessLevel;
+import org.modelmapper.convention.MatchingStrategies;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookMapperTest {
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    @Test
+    void toDto_ShouldMatchPreviousModelMapperOutput() {
+        Book book = book();
+
+        assertEquals(legacyMapper().map(book, BookDTO.class), bookMapper.toDto(book));
+    }
+
+    @Test
+    void toEntity_ShouldCopyAllFieldsExceptSlug() {
+        Book book = book();
+
+        Book copy = bookMapper.toEntity(bookMapper.toDto(book));
+
+        assertNull(copy.getSlug());
+        copy.setSlug(book.getSlug());
+        assertEquals(book, copy);
+    }
+
+    @Test
+    void updateEntity_ShouldSkipNullFields() {
+        Book book = book();
+        BookDTO update = new BookDTO();
+        update.setPrice(new BigDecimal("9.99"));
+        update.setQuantity(0);
+
+        bookMapper.updateEntity(update, book);
+
+        assertEquals(new BigDecimal("9.99"), book.getPrice());
+        assertEquals(0, book.getQuantity());
+        assertEquals("Dune", book.getName());
+        assertEquals("A desert planet", book.getDescription());
+        assertEquals(1L, book.getId());
+    }
+
+    @Test
+    void updateEntity_ShouldMatchPreviousModelMapperSemantics() {
+        BookDTO update = new BookDTO();
+        update.setName("Dune Messiah");
+        update.setPages(256);
+        Book expected = book();
+        legacyMapper().map(update, expected);
+        Book actual = book();
+
+        bookMapper.updateEntity(update, actual);
+
+        assertEquals(expected, actual);
+    }
+
+    private ModelMapper legacyMapper() {
+        ModelMapper mapper = new ModelMapper();
+        mapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setFieldMatchingEnabled(true)
+                .setSkipNullEnabled(true)
+                .setFieldAccessLevel(AccessLevel.PRIVATE);
+        return mapper;
+    }
+
+    private Book book() {
+        return new Book(1L, "Dune", "Science Fiction", AgeGroup.ADULT, new BigDecimal("19.99"),
+                LocalDate.of(1965, 8, 1), "Frank Herbert", 412, "Hardcover", "A desert planet",
+                Language.ENGLISH, "/images/dune.jpg", 12, "dune", 0, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.ClientDTO;
+import com.epam.rd.autocode.spring.project.model.Client;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientMapperTest {
+
+    private final ClientMapper clientMapper = new ClientMapper();
+
+    @Test
+    void toDto_ShouldCopyBlockedFlagAndBalance() {
+        Client client = new Client(1L, "user@mail.com", "hash", "User", new BigDecimal("50.00"));
+        client.setBlocked(true);
+
+        ClientDTO dto = clientMapper.toDto(client);
+
+        assertEquals("user@mail.com", dto.getEmail());
+        assertEquals(new BigDecimal("50.00"), dto.getBalance());
+        assertTrue(dto.isBlocked());
+    }
+
+    @Test
+    void toEntity_ShouldLeaveRoleAndIdUnset() {
+        ClientDTO dto = new ClientDTO("user@mail.com", "password", "User", null, false);
+
+        Client client = clientMapper.toEntity(dto);
+
+        assertEquals("user@mail.com", client.getEmail());
+        assertEquals("password", client.getPassword());
+        assertNull(client.getId());
+        assertNull(client.getRole());
+    }
+}
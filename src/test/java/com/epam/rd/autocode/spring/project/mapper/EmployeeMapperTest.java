@@ -0,0 +1,36 @@
+package com.epam.rd.autocode.spring.project.mapper;
+
+import com.epam.rd.autocode.spring.project.dto.EmployeeDTO;
+import com.epam.rd.autocode.spring.project.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeMapperTest {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    @Test
+    void toDto_ShouldCopyProfileFields() {
+        Employee employee = new Employee(1L, "emp@mail.com", "hash", "Emp", LocalDate.of(1990, 1, 1), "123");
+
+        assertEquals(new EmployeeDTO("emp@mail.com", "hash", "Emp", LocalDate.of(1990, 1, 1), "123"),
+                employeeMapper.toDto(employee));
+    }
+
+    @Test
+    void updateEntity_ShouldSkipNullFields() {
+        Employee employee = new Employee(1L, "emp@mail.com", "hash", "Emp", LocalDate.of(1990, 1, 1), "123");
+        EmployeeDTO update = new EmployeeDTO();
+        update.setPhone("456");
+
+        employeeMapper.updateEntity(update, employee);
+
+        assertEquals("456", employee.getPhone());
+        assertEquals("Emp", employee.getName());
+        assertEquals("hash", employee.getPassword());
+        assertEquals(LocalDate.of(1990, 1, 1), employee.getBirthDate());
+    }
+}
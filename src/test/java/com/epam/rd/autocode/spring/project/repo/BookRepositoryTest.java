@@ -0,0 +1,208 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookRepositoryTest {
+
+    private static final String GENRE = "Keyset Test";
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final Sort byPrice = Sort.by(Sort.Direction.ASC, "price").and(Sort.by(Sort.Direction.ASC, "id"));
+
+    @BeforeEach
+    void setUp() {
+        bookRepository.save(book("K1", "10.00"));
+        bookRepository.save(book("K2", "20.00"));
+        bookRepository.save(book("K3", "20.00"));
+        bookRepository.save(book("K4", "30.00"));
+        bookRepository.save(book("K5", "40.00"));
+    }
+
+    @Test
+    void findCardsByGenre_ScrollingForward_ShouldSeekPastTiesById() {
+        Window<BookCardView> first = bookRepository.findCardsByGenre(GENRE, ScrollPosition.keyset(), byPrice, Limit.of(2));
+        assertEquals(List.of("K1", "K2"), names(first));
+        assertTrue(first.hasNext());
+
+        BookCardView last = first.getContent().get(1);
+        ScrollPosition after = ScrollPosition.forward(Map.of("price", last.getPrice(), "id", last.getId()));
+        Window<BookCardView> second = bookRepository.findCardsByGenre(GENRE, after, byPrice, Limit.of(2));
+
+        assertEquals(List.of("K3", "K4"), names(second));
+        assertTrue(second.hasNext());
+    }
+
+    @Test
+    void findCardsByGenre_ScrollingBackward_ShouldReturnPreviousItemsInSortOrder() {
+        Book k4 = bookRepository.findByName("K4").orElseThrow();
+        ScrollPosition before = ScrollPosition.backward(Map.of("price", k4.getPrice(), "id", k4.getId()));
+
+        Window<BookCardView> previous = bookRepository.findCardsByGenre(GENRE, before, byPrice, Limit.of(2));
+
+        assertEquals(List.of("K2", "K3"), names(previous));
+        assertTrue(previous.hasNext());
+    }
+
+    @Test
+    void findGenreFacets_ShouldCountTotalAndInStockBooks() {
+        Book soldOut = book("K6", "50.00");
+        soldOut.setQuantity(0);
+        bookRepository.save(soldOut);
+
+        GenreFacetDTO facet = bookRepository.findGenreFacets().stream()
+                .filter(f -> GENRE.equals(f.getGenre()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(6, facet.getTotal());
+        assertEquals(5, facet.getInStock());
+    }
+
+    @Test
+    void findCardsByFilter_ShouldCombineKeywordAndFacets() {
+        Book english = book("Keyset English", "15.00");
+        english.setLanguage(Language.ENGLISH);
+        bookRepository.save(english);
+        Book soldOut = book("Keyset Sold Out", "15.00");
+        soldOut.setLanguage(Language.ENGLISH);
+        soldOut.setQuantity(0);
+        bookRepository.save(soldOut);
+
+        Page<BookCardDTO> result = bookRepository.findCardsByFilter("keyset", GENRE, Language.ENGLISH, null,
+                new BigDecimal("10"), new BigDecimal("20"), null, null, true, PageRequest.of(0, 10));
+
+        assertEquals(List.of("Keyset English"), result.map(BookCardDTO::getName).getContent());
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void findCardsByFilter_PriceRange_ShouldIncludeBounds() {
+        bookRepository.save(book("Keyset Cheap", "9.99"));
+        bookRepository.save(book("Keyset Edge", "12.50"));
+        bookRepository.save(book("Keyset Dear", "12.51"));
+
+        Page<BookCardDTO> result = bookRepository.findCardsByFilter("keyset", GENRE, null, null, null, null,
+                new BigDecimal("10"), new BigDecimal("12.50"), false, PageRequest.of(0, 10));
+
+        assertEquals(List.of("Keyset Edge"), result.map(BookCardDTO::getName).getContent());
+    }
+
+    @Test
+    void findCardsByGenre_ShouldPageCardsWithTotal() {
+        Page<BookCardDTO> page = bookRepository.findCardsByGenre(GENRE, PageRequest.of(1, 2, byPrice));
+
+        assertEquals(List.of("K3", "K4"), page.map(BookCardDTO::getName).getContent());
+        assertEquals(5, page.getTotalElements());
+        assertEquals(new BigDecimal("30.00"), page.getContent().get(1).getPrice());
+    }
+
+    @Test
+    void findCardsByKeyword_ShouldMatchNormalizedNameOrAuthor() {
+        Book byAuthor = book("Unrelated Title", "12.00");
+        byAuthor.setAuthor("Keyset Author");
+        bookRepository.save(byAuthor);
+
+        Page<BookCardDTO> page = bookRepository.findCardsByKeyword("keyset auth", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Unrelated Title"), page.map(BookCardDTO::getName).getContent());
+        assertEquals("Keyset Author", page.getContent().get(0).getAuthor());
+    }
+
+    @Test
+    void findCardsByKeyword_CyrillicTitle_ShouldMatchLatinTransliteration() {
+        Book cyrillic = bookRepository.save(book("Кейсет Кобзар", "12.00"));
+
+        assertEquals("keiset kobzar", cyrillic.getSearchKey());
+        Page<BookCardDTO> page = bookRepository.findCardsByKeyword("keiset kobz", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Кейсет Кобзар"), page.map(BookCardDTO::getName).getContent());
+    }
+
+    @Test
+    void save_RenamedBook_ShouldRefreshSearchKey() {
+        Book book = bookRepository.findByName("K1").orElseThrow();
+        book.setName("K1 Renamed");
+        bookRepository.saveAndFlush(book);
+
+        assertEquals(1, bookRepository.findCardsByKeyword("k1 renamed", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void findStockByIdIn_ShouldReturnPriceAndQuantityOfRequestedBooks() {
+        Book k2 = bookRepository.findByName("K2").orElseThrow();
+        Book k4 = bookRepository.findByName("K4").orElseThrow();
+
+        List<BookStockDTO> stock = bookRepository.findStockByIdIn(List.of(k2.getId(), k4.getId()));
+
+        assertEquals(2, stock.size());
+        BookStockDTO k4Stock = stock.stream().filter(s -> s.getId().equals(k4.getId())).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("30.00").compareTo(k4Stock.getPrice()));
+        assertEquals(k4.getQuantity(), k4Stock.getQuantity());
+    }
+
+    @Test
+    void findCardsByIdIn_ShouldReturnOnlyRequestedCards() {
+        Long k2 = bookRepository.findByName("K2").orElseThrow().getId();
+        Long k5 = bookRepository.findByName("K5").orElseThrow().getId();
+
+        List<String> names = bookRepository.findCardsByIdIn(List.of(k2, k5)).stream()
+                .map(BookCardDTO::getName)
+                .sorted()
+                .toList();
+
+        assertEquals(List.of("K2", "K5"), names);
+    }
+
+    @Test
+    void save_DuplicateName_ShouldViolateUniqueConstraint() {
+        assertThrows(DataIntegrityViolationException.class,
+                () -> bookRepository.saveAndFlush(book("K1", "99.00")));
+    }
+
+    @Test
+    void findBySlug_ShouldUseAssignedSlug() {
+        Book book = bookRepository.findByName("K3").orElseThrow();
+        book.setSlug("k3");
+        bookRepository.saveAndFlush(book);
+
+        assertEquals("K3", bookRepository.findBySlug("k3").orElseThrow().getName());
+        assertTrue(bookRepository.findBySlugIsNull().stream().noneMatch(b -> "K3".equals(b.getName())));
+    }
+
+    private List<String> names(Window<BookCardView> window) {
+        return window.getContent().stream().map(BookCardView::getName).toList();
+    }
+
+    private Book book(String name, String price) {
+        Book book = new Book();
+        book.setName(name);
+        book.setGenre(GENRE);
+        book.setPrice(new BigDecimal(price));
+        book.setQuantity(1);
+        return book;
+    }
+}
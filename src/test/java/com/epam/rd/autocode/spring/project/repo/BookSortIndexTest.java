@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BookSortIndexTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @EnumSource(BookSortField.class)
+    void sortColumn_ShouldLeadAnIdTieBrokenIndexInBothDirections(BookSortField field) {
+        List<String> directions = jdbcTemplate.queryForList("SELECT lead.ORDERING_SPECIFICATION "
+                + "FROM INFORMATION_SCHEMA.INDEXES i "
+                + "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS lead ON lead.INDEX_SCHEMA = i.INDEX_SCHEMA "
+                + "AND lead.INDEX_NAME = i.INDEX_NAME AND lead.ORDINAL_POSITION = 1 "
+                + "JOIN INFORMATION_SCHEMA.INDEX_COLUMNS tie ON tie.INDEX_SCHEMA = i.INDEX_SCHEMA "
+                + "AND tie.INDEX_NAME = i.INDEX_NAME AND tie.ORDINAL_POSITION = 2 "
+                + "AND tie.COLUMN_NAME = 'ID' AND tie.ORDERING_SPECIFICATION = lead.ORDERING_SPECIFICATION "
+                + "WHERE i.TABLE_NAME = 'BOOKS' AND lead.COLUMN_NAME = ?", String.class, column(field).toUpperCase());
+
+        assertEquals(Set.of("ASC", "DESC"), Set.copyOf(directions), field + " -> " + column(field));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookSortField.class)
+    void ascendingPage_ShouldBeReadInIndexOrder(BookSortField field) {
+        String column = column(field);
+        String plan = explain("SELECT id, name, price FROM books ORDER BY " + column + ", id "
+                + "OFFSET 12 ROWS FETCH FIRST 6 ROWS ONLY");
+
+        assertTrue(plan.contains("IDX_BOOKS_" + column.toUpperCase() + "_ID */"), plan);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookSortField.class)
+    void descendingPage_ShouldBeReadInIndexOrder(BookSortField field) {
+        String column = column(field);
+        String plan = explain("SELECT id, name, price FROM books ORDER BY " + column + " DESC, id DESC "
+                + "OFFSET 12 ROWS FETCH FIRST 6 ROWS ONLY");
+
+        assertTrue(plan.contains("IDX_BOOKS_" + column.toUpperCase() + "_ID_DESC */"), plan);
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    @Test
+    void genrePage_ShouldAvoidSortingTheWholeTable() {
+        String plan = explain("SELECT id FROM books WHERE genre = 'Drama' ORDER BY price, id FETCH FIRST 6 ROWS ONLY");
+
+        assertTrue(plan.contains("/* index sorted */"), plan);
+    }
+
+    private String column(BookSortField field) {
+        AbstractEntityPersister persister = (AbstractEntityPersister) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Book.class);
+        return persister.getPropertyColumnNames(field.getProperty())[0];
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
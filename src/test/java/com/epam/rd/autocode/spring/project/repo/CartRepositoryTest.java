@@ -0,0 +1,49 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.model.Cart;
+import com.epam.rd.autocode.spring.project.service.impl.CartCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CartRepositoryTest {
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void save_ShouldPersistEncodedLinesPerOwner() {
+        List<CartLine> lines = List.of(new CartLine(5L, 2), new CartLine(8L, 1));
+        cartRepository.save(new Cart("cart-test@example.com", CartCodec.encode(lines), LocalDateTime.now()));
+        entityManager.flush();
+        entityManager.clear();
+
+        Cart loaded = cartRepository.findById("cart-test@example.com").orElseThrow();
+
+        assertEquals(lines, CartCodec.decode(loaded.getLines()));
+        assertFalse(cartRepository.existsById("someone-else@example.com"));
+    }
+
+    @Test
+    void findUpdatedAtByOwnerEmail_ShouldReturnStoredStampOnly() {
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 3, 1, 10, 0, 0, 123_456_000);
+        cartRepository.save(new Cart("stamp-test@example.com", CartCodec.encode(List.of(new CartLine(1L, 1))), updatedAt));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(Optional.of(updatedAt), cartRepository.findUpdatedAtByOwnerEmail("stamp-test@example.com"));
+        assertTrue(cartRepository.findUpdatedAtByOwnerEmail("someone-else@example.com").isEmpty());
+    }
+}
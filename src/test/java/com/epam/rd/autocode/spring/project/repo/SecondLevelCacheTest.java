@@ -0,0 +1,134 @@
+package com.epam.rd.autocode.spring.project.repo;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.Client;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Book book;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        book = new Book();
+        book.setName("L2 Cached Book");
+        book.setGenre("L2 Test");
+        book.setPrice(new BigDecimal("12.00"));
+        book.setQuantity(5);
+        book = bookRepository.save(book);
+
+        client = clientRepository.save(new Client(0, "l2@cache.test", "secret", "Cache Client", new BigDecimal("100.00")));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteById(book.getId());
+        clientRepository.deleteById(client.getId());
+    }
+
+    @Test
+    void findById_SecondLookup_ShouldHitBooksRegion() {
+        bookRepository.findById(book.getId()).orElseThrow();
+        bookRepository.findById(book.getId()).orElseThrow();
+
+        assertTrue(statistics.getCacheRegionStatistics("books").getHitCount() >= 1);
+    }
+
+    @Test
+    void stockUpdate_ShouldRefreshCachedEntryInsteadOfServingStaleQuantity() {
+        Book cached = bookRepository.findById(book.getId()).orElseThrow();
+        cached.setQuantity(2);
+        bookRepository.save(cached);
+        statistics.clear();
+
+        Book reloaded = bookRepository.findById(book.getId()).orElseThrow();
+
+        assertEquals(2, reloaded.getQuantity());
+        assertEquals(1, statistics.getCacheRegionStatistics("books").getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void balanceUpdate_ShouldRefreshCachedClient() {
+        Client cached = clientRepository.findById(client.getId()).orElseThrow();
+        cached.setBalance(new BigDecimal("40.00"));
+        clientRepository.save(cached);
+
+        Client reloaded = clientRepository.findById(client.getId()).orElseThrow();
+
+        assertEquals(0, new BigDecimal("40.00").compareTo(reloaded.getBalance()));
+    }
+
+    @Test
+    void findByEmail_RepeatedLookup_ShouldHitQueryCache() {
+        clientRepository.findByEmail("l2@cache.test").orElseThrow();
+        clientRepository.findByEmail("l2@cache.test").orElseThrow();
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void findAllGenres_ShouldBeServedFromGenresRegionUntilBooksChange() {
+        bookRepository.findAllGenres();
+        bookRepository.findAllGenres();
+        assertEquals(1, statistics.getCacheRegionStatistics("genres").getHitCount());
+
+        Book other = new Book();
+        other.setName("L2 Genre Invalidation");
+        other.setGenre("L2 Fresh Genre");
+        other.setPrice(BigDecimal.ONE);
+        other.setQuantity(1);
+        other = bookRepository.save(other);
+        try {
+            assertTrue(bookRepository.findAllGenres().contains("L2 Fresh Genre"));
+        } finally {
+            bookRepository.deleteById(other.getId());
+        }
+    }
+
+    @Test
+    void regions_ShouldBeBounded() {
+        CacheImplementor cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        CacheManager cacheManager = ((JCacheRegionFactory) cache.getRegionFactory()).getCacheManager();
+
+        for (String region : new String[] {"books", "clients", "employees", "genres"}) {
+            Cache<?, ?> caffeine = cacheManager.getCache(region).unwrap(Cache.class);
+            assertTrue(caffeine.policy().eviction().isPresent(), region);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.BestsellerDTO;
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
+import com.epam.rd.autocode.spring.project.model.enums.BestsellerWindow;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.BestsellerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class BestsellerServiceImplTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BookRepository bookRepository = mock(BookRepository.class);
+    private final Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private final BestsellerServiceImpl service = new BestsellerServiceImpl(jdbcTemplate, bookRepository, clock, 50, 2);
+
+    @BeforeEach
+    void setUp() {
+        when(bookRepository.findCardsByIdIn(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(this::card).toList();
+        });
+    }
+
+    @Test
+    void getBestsellers_ShouldRankByUnitsPerWindow() {
+        sale(1L, NOW.minusDays(3), line(1L, "Drama", 5));
+        sale(2L, NOW.minusHours(1), line(2L, "Drama", 2), line(3L, "Poetry", 1));
+
+        assertEquals(List.of(2L, 3L), ids(service.getBestsellers(BestsellerWindow.LAST_24_HOURS, null, 10)));
+        assertEquals(List.of(1L, 2L, 3L), ids(service.getBestsellers(BestsellerWindow.LAST_7_DAYS, null, 10)));
+        assertEquals(5, service.getBestsellers(BestsellerWindow.ALL_TIME, null, 1).get(0).getUnitsSold());
+    }
+
+    @Test
+    void getBestsellers_ByGenre_ShouldOnlyRankThatGenre() {
+        sale(1L, NOW, line(1L, "Drama", 5), line(2L, "Poetry", 7));
+
+        assertEquals(List.of(1L), ids(service.getBestsellers(BestsellerWindow.LAST_24_HOURS, "Drama", 10)));
+        assertEquals(List.of(), service.getBestsellers(BestsellerWindow.LAST_24_HOURS, "Horror", 10));
+    }
+
+    @Test
+    void getBestsellers_GenresBeyondLimit_ShouldStillCountGlobally() {
+        sale(1L, NOW, line(1L, "A", 1), line(2L, "B", 1), line(3L, "C", 1), line(4L, "D", 1));
+
+        assertEquals(List.of(), service.getBestsellers(BestsellerWindow.ALL_TIME, "D", 10));
+        assertEquals(4, service.getBestsellers(BestsellerWindow.ALL_TIME, null, 10).size());
+    }
+
+    @Test
+    void onSalesRecorded_Reversal_ShouldRemoveCanceledUnits() {
+        LocalDateTime placedAt = NOW.minusDays(2);
+        sale(1L, placedAt, line(1L, "Drama", 3), line(2L, "Drama", 2));
+
+        service.onSalesRecorded(new SalesRecordedEvent(1L, placedAt, List.of(line(1L, "Drama", 3)), true));
+
+        assertEquals(List.of(2L), ids(service.getBestsellers(BestsellerWindow.LAST_7_DAYS, null, 10)));
+        assertEquals(List.of(2L), ids(service.getBestsellers(BestsellerWindow.ALL_TIME, "Drama", 10)));
+    }
+
+    @Test
+    void rebuild_ShouldBackfillHistoryAndReplayOnlyUnseenEvents() {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(1L, NOW.minusHours(3), 1L, "Drama", 4));
+            handler.processRow(row(2L, NOW.minusDays(30), 2L, "Drama", 9));
+            service.onSalesRecorded(new SalesRecordedEvent(1L, NOW.minusHours(3), List.of(line(1L, "Drama", 4)), false));
+            service.onSalesRecorded(new SalesRecordedEvent(7L, NOW, List.of(line(3L, "Drama", 1)), false));
+            service.onSalesRecorded(new SalesRecordedEvent(8L, NOW, List.of(line(3L, "Drama", 1)), true));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        service.rebuild();
+
+        List<BestsellerDTO> day = service.getBestsellers(BestsellerWindow.LAST_24_HOURS, null, 10);
+        assertEquals(List.of(1L, 3L), ids(day));
+        assertEquals(4, day.get(0).getUnitsSold());
+        assertEquals(List.of(2L, 1L, 3L), ids(service.getBestsellers(BestsellerWindow.ALL_TIME, null, 10)));
+    }
+
+    @Test
+    void getBestsellers_ShouldSkipBooksThatNoLongerExist() {
+        sale(1L, NOW, line(1L, "Drama", 1), line(99L, "Drama", 5));
+        doReturn(List.of(card(1L))).when(bookRepository).findCardsByIdIn(any());
+
+        assertEquals(List.of(1L), ids(service.getBestsellers(BestsellerWindow.LAST_24_HOURS, null, 10)));
+    }
+
+    private void sale(Long orderId, LocalDateTime at, OrderLine... lines) {
+        service.onSalesRecorded(new SalesRecordedEvent(orderId, at, List.of(lines), false));
+    }
+
+    private OrderLine line(Long bookId, String genre, int quantity) {
+        return new OrderLine(bookId, genre, quantity);
+    }
+
+    private ResultSet row(Long orderId, LocalDateTime at, Long bookId, String genre, int quantity) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong(1)).thenReturn(orderId);
+        when(rs.getTimestamp(2)).thenReturn(Timestamp.from(at.toInstant(ZoneOffset.UTC)));
+        when(rs.getLong(3)).thenReturn(bookId);
+        when(rs.getString(4)).thenReturn(genre);
+        when(rs.getInt(5)).thenReturn(quantity);
+        return rs;
+    }
+
+    private BookCardDTO card(Long id) {
+        BookCardDTO card = new BookCardDTO();
+        card.setId(id);
+        card.setName("Book " + id);
+        return card;
+    }
+
+    private List<Long> ids(List<BestsellerDTO> bestsellers) {
+        return bestsellers.stream().map(BestsellerDTO::getBookId).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.ExportFormat;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.BookExportServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(BookExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class BookExportServiceImplTest {
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Book exported;
+
+    @BeforeEach
+    void setUp() {
+        Book book = new Book();
+        book.setName("Export Test, \"Quoted\"");
+        book.setSlug("export-test-quoted");
+        book.setGenre("Drama");
+        book.setAuthor("Ann Author");
+        book.setPrice(new BigDecimal("12.50"));
+        book.setQuantity(4);
+        book.setLanguage(Language.ENGLISH);
+        book.setPublicationDate(LocalDate.of(2020, 1, 15));
+        exported = bookRepository.saveAndFlush(book);
+    }
+
+    @Test
+    void exportCatalog_Csv_ShouldWriteHeaderAndOneLinePerBookInIdOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bookExportService.exportCatalog(ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(bookRepository.count(), count);
+        assertEquals(count + 1, lines.size());
+        assertTrue(lines.get(0).startsWith("id,name,slug,genre,author,price,quantity"));
+        assertEquals(exported.getId() + ",\"Export Test, \"\"Quoted\"\"\",export-test-quoted,Drama,\"Ann Author\",12.50,4,ENGLISH,,2020-01-15,,,,",
+                lines.get(lines.size() - 1));
+    }
+
+    @Test
+    void exportCatalog_Ndjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bookExportService.exportCatalog(ExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(count, lines.size());
+        JsonNode last = objectMapper.readTree(lines.get(lines.size() - 1));
+        assertEquals(exported.getId(), last.get("id").asLong());
+        assertEquals("Export Test, \"Quoted\"", last.get("name").asText());
+        assertEquals("2020-01-15", last.get("publicationDate").asText());
+        assertEquals(12.5, last.get("price").asDouble());
+    }
+}
@@ -0,0 +1,156 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.ImportJobDTO;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.ImportStatus;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.BookImportServiceImpl;
+import com.epam.rd.autocode.spring.project.service.impl.BookSlugAssigner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookImportServiceImpl.class, BookSlugAssigner.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@TestPropertySource(properties = {"bookstore.import.batch-size=2", "bookstore.import.parallelism=2"})
+class BookImportServiceImplTest {
+
+    private static final String PREFIX = "Import Test";
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private CatalogIndexManager catalogIndexManager;
+
+    @MockBean
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM books WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void startImport_Csv_ShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+        String csv = """
+                name,genre,author,price,quantity,language,publicationDate,pages
+                Import Test One,Drama,Ann Author,10.50,3,ENGLISH,2020-01-15,120
+                Import Test Two,Drama,Ann Author,,3,,,
+                Import Test Three,Poetry,Bob Poet,7.00,0,,,
+                Import Test Four,Poetry,Bob Poet,7.00,-1,,,
+                Import Test Five,Drama,Cy Writer,12.00,1,KLINGON,,
+                Import Test Six,Drama,Cy Writer,5.00,9,,,
+                """;
+
+        ImportJobDTO job = awaitCompletion(bookImportService.startImport(csv("feed.csv", csv)));
+
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(6, job.getProcessedRows());
+        assertEquals(3, job.getImportedRows());
+        assertEquals(3, job.getFailedRows());
+        assertEquals(2, job.getErrors().get(0).getRow());
+        assertEquals("Price is required", job.getErrors().get(0).getMessage());
+        assertEquals(4, job.getErrors().get(1).getRow());
+        assertEquals(5, job.getErrors().get(2).getRow());
+
+        Book one = bookRepository.findByName("Import Test One").orElseThrow();
+        assertEquals(0, new BigDecimal("10.50").compareTo(one.getPrice()));
+        assertEquals(Language.ENGLISH, one.getLanguage());
+        assertEquals(120, one.getPages());
+        assertEquals("import-test-one", one.getSlug());
+        assertEquals("import test one ann author", one.getSearchKey());
+        assertTrue(bookRepository.findByName("Import Test Three").isPresent());
+        verify(catalogIndexManager).rebuild();
+        verify(catalogVersionTracker).bumpAll();
+    }
+
+    @Test
+    void startImport_Json_ShouldUpdateExistingBooksByName() throws Exception {
+        String first = """
+                [{"name": "Import Test Json", "genre": "Drama", "author": "Ann", "price": 10, "quantity": 1}]
+                """;
+        String second = """
+                [{"name": "Import Test Json", "genre": "Drama", "author": "Ann", "price": 15, "quantity": 8},
+                 {"name": "Import Test Json 2", "genre": "Drama", "author": "Ann", "price": 4, "quantity": 2}]
+                """;
+
+        awaitCompletion(bookImportService.startImport(json(first)));
+        String slug = bookRepository.findByName("Import Test Json").orElseThrow().getSlug();
+        ImportJobDTO job = awaitCompletion(bookImportService.startImport(json(second)));
+
+        assertEquals(2, job.getImportedRows());
+        Book updated = bookRepository.findByName("Import Test Json").orElseThrow();
+        assertEquals(8, updated.getQuantity());
+        assertEquals(0, new BigDecimal("15").compareTo(updated.getPrice()));
+        assertEquals(slug, updated.getSlug());
+        assertEquals("import-test-json-2", bookRepository.findByName("Import Test Json 2").orElseThrow().getSlug());
+    }
+
+    @Test
+    void startImport_MalformedJson_ShouldFailJob() throws Exception {
+        ImportJobDTO job = awaitCompletion(bookImportService.startImport(json("{\"name\": \"Import Test\"}")));
+
+        assertEquals(ImportStatus.FAILED, job.getStatus());
+        assertFalse(job.getErrors().isEmpty());
+    }
+
+    @Test
+    void startImport_UnsupportedFormat_ShouldThrow() {
+        MockMultipartFile file = new MockMultipartFile("file", "feed.xlsx", "application/octet-stream", new byte[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> bookImportService.startImport(file));
+    }
+
+    @Test
+    void getImport_UnknownId_ShouldThrowNotFound() {
+        assertThrows(NotFoundException.class, () -> bookImportService.getImport("missing"));
+    }
+
+    private ImportJobDTO awaitCompletion(ImportJobDTO started) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            ImportJobDTO job = bookImportService.getImport(started.getId());
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import did not finish in time");
+    }
+
+    private MockMultipartFile csv(String name, String content) {
+        return new MockMultipartFile("file", name, "text/csv", content.getBytes());
+    }
+
+    private MockMultipartFile json(String content) {
+        return new MockMultipartFile("file", "feed.json", "application/json", content.getBytes());
+    }
+}
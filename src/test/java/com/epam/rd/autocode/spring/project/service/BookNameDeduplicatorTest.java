@@ -0,0 +1,76 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.service.impl.BookNameDeduplicator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BookNameDeduplicator.class)
+class BookNameDeduplicatorTest {
+
+    private static final String PREFIX = "dedupe-test";
+
+    @Autowired
+    private BookNameDeduplicator bookNameDeduplicator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM books WHERE name LIKE ?", PREFIX + "%");
+        jdbcTemplate.execute("ALTER TABLE books ADD CONSTRAINT IF NOT EXISTS uk_books_name UNIQUE (name)");
+    }
+
+    @Test
+    void enforceUniqueNames_ExistingDuplicates_ShouldRenameNewerCopiesAndAddConstraint() {
+        jdbcTemplate.execute("ALTER TABLE books DROP CONSTRAINT uk_books_name");
+        Long first = insert(PREFIX + " Dune");
+        Long second = insert(PREFIX + " Dune");
+        insert(PREFIX + " Dune (2)");
+        Long third = insert(PREFIX + " Dune");
+
+        bookNameDeduplicator.enforceUniqueNames();
+
+        assertEquals(PREFIX + " Dune", name(first));
+        assertEquals(PREFIX + " Dune (3)", name(second));
+        assertEquals(PREFIX + " Dune (4)", name(third));
+        assertEquals("dedupe test dune 4 tester", jdbcTemplate.queryForObject(
+                "SELECT search_key FROM books WHERE id = ?", String.class, third));
+        assertThrows(DataIntegrityViolationException.class, () -> insert(PREFIX + " Dune"));
+    }
+
+    @Test
+    void enforceUniqueNames_ConstraintPresent_ShouldDoNothing() {
+        Long id = insert(PREFIX + " Emma");
+
+        bookNameDeduplicator.enforceUniqueNames();
+
+        assertEquals(PREFIX + " Emma", name(id));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+                + "WHERE TABLE_NAME = 'BOOKS' AND CONSTRAINT_NAME = 'UK_BOOKS_NAME'", Integer.class));
+    }
+
+    private Long insert(String name) {
+        jdbcTemplate.update("INSERT INTO books (name, author, price, quantity, sales_count) VALUES (?, 'Tester', 1, 1, 0)",
+                name);
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM books WHERE name = ? ORDER BY id DESC", Long.class, name);
+        return ids.get(0);
+    }
+
+    private String name(Long id) {
+        return jdbcTemplate.queryForObject("SELECT name FROM books WHERE id = ?", String.class, id);
+    }
+}
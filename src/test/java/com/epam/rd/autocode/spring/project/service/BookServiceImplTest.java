@@ -1,30 +1,57 @@
 package com.epam.rd.autocode.spring.project.service;
 
+import com.epam.rd.autocode.spring.project.dto.BookCardDTO;
 import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookFilter;
+import com.epam.rd.autocode.spring.project.dto.CursorPage;
+import com.epam.rd.autocode.spring.project.dto.GenreFacetDTO;
+import com.epam.rd.autocode.spring.project.dto.PriceHistogramDTO;
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
 import com.epam.rd.autocode.spring.project.exception.AlreadyExistException;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.BookFacetIndex;
+import com.epam.rd.autocode.spring.project.index.BookLookupIndex;
+import com.epam.rd.autocode.spring.project.index.BookOrdinals;
+import com.epam.rd.autocode.spring.project.index.BookSearchIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.index.CoPurchaseIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
+import com.epam.rd.autocode.spring.project.index.GenreFacetIndex;
+import com.epam.rd.autocode.spring.project.index.PriceIndex;
+import com.epam.rd.autocode.spring.project.index.SpellingIndex;
+import com.epam.rd.autocode.spring.project.index.SuggestionIndex;
+import com.epam.rd.autocode.spring.project.mapper.BookMapper;
 import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.BookSortField;
+import com.epam.rd.autocode.spring.project.model.enums.Language;
+import com.epam.rd.autocode.spring.project.model.enums.PriceBand;
+import com.epam.rd.autocode.spring.project.repo.BookCardView;
 import com.epam.rd.autocode.spring.project.repo.BookRepository;
 import com.epam.rd.autocode.spring.project.service.impl.BookServiceImpl;
+import com.epam.rd.autocode.spring.project.service.impl.BookSlugAssigner;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,64 +61,321 @@ public class BookServiceImplTest {
     private BookRepository bookRepository;
 
     @Spy
-    private ModelMapper modelMapper = new ModelMapper();
+    private BookMapper bookMapper = new BookMapper();
+
+    @Mock
+    private BookSearchIndex bookSearchIndex;
+
+    @Mock
+    private GenreFacetIndex genreFacetIndex;
+
+    @Mock
+    private BookFacetIndex bookFacetIndex;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Mock
+    private PriceIndex priceIndex;
+
+    @Mock
+    private SpellingIndex spellingIndex;
+
+    @Spy
+    private BookOrdinals bookOrdinals = new BookOrdinals();
+
+    @Mock
+    private BookLookupIndex bookLookupIndex;
+
+    @Mock
+    private BookSlugAssigner bookSlugAssigner;
+
+    @Mock
+    private CatalogIndexManager catalogIndexManager;
+
+    @Mock
+    private CatalogVersionTracker catalogVersionTracker;
+
+    @Mock
+    private CoPurchaseIndex coPurchaseIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockReservationService stockReservationService;
 
     @InjectMocks
     private BookServiceImpl bookService;
 
+    @BeforeEach
+    void setUp() {
+        LongStream.rangeClosed(1, 10).forEach(bookOrdinals::assign);
+    }
+
     @Test
     void getAllBooks_NoFilter_ShouldReturnAll() {
         Pageable pageable = PageRequest.of(0, 10);
-        Book book = new Book();
-        book.setId(1L);
-        book.setName("Test Book");
-        Page<Book> bookPage = new PageImpl<>(Collections.singletonList(book));
+        Page<BookCardDTO> cardPage = new PageImpl<>(Collections.singletonList(card(1L, "Test Book")));
 
-        when(bookRepository.findAll(pageable)).thenReturn(bookPage);
+        when(bookRepository.findAllCards(pageable)).thenReturn(cardPage);
 
-        Page<BookDTO> result = bookService.getAllBooks(null, null, pageable);
+        Page<BookCardDTO> result = bookService.getAllBooks(null, null, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Test Book", result.getContent().get(0).getName());
-        verify(bookRepository).findAll(pageable);
+        verify(bookRepository).findAllCards(pageable);
+        verify(bookRepository, never()).findAll(any(Pageable.class));
     }
 
+    @Test
+    void getAllBooks_ShouldShowStockLeftAfterReservations() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookCardDTO held = card(1L, "Held");
+        held.setQuantity(10);
+        BookCardDTO free = card(2L, "Free");
+        free.setQuantity(10);
+        when(bookRepository.findAllCards(pageable)).thenReturn(new PageImpl<>(List.of(held, free)));
+        when(stockReservationService.getReserved(1L)).thenReturn(3);
+        when(stockReservationService.getReserved(2L)).thenReturn(0);
+
+        Page<BookCardDTO> result = bookService.getAllBooks(null, null, pageable);
+
+        assertEquals(7, result.getContent().get(0).getQuantity());
+        assertEquals(10, result.getContent().get(1).getQuantity());
+    }
 
 
     @Test
     void getAllBooks_WithGenre_ShouldFilterByGenre() {
         Pageable pageable = PageRequest.of(0, 10);
         String genre = "Fantasy";
-        Book book = new Book();
-        book.setGenre(genre);
-        Page<Book> bookPage = new PageImpl<>(Collections.singletonList(book));
+        BookCardDTO card = card(1L, "Test Book");
+        card.setGenre(genre);
+        Page<BookCardDTO> cardPage = new PageImpl<>(Collections.singletonList(card));
 
-        when(bookRepository.findByGenre(genre, pageable)).thenReturn(bookPage);
+        when(bookRepository.findCardsByGenre(genre, pageable)).thenReturn(cardPage);
 
-        Page<BookDTO> result = bookService.getAllBooks(null, genre, pageable);
+        Page<BookCardDTO> result = bookService.getAllBooks(null, genre, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals(genre, result.getContent().get(0).getGenre());
-        verify(bookRepository).findByGenre(genre, pageable);
-        verify(bookRepository, never()).findAll(any(Pageable.class));
+        verify(bookRepository).findCardsByGenre(genre, pageable);
+        verify(bookRepository, never()).findAllCards(any(Pageable.class));
     }
 
     @Test
     void getAllBooks_WithKeyword_ShouldFilterByKeyword() {
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
         String keyword = "Harry";
-        Book book = new Book();
-        book.setName("Harry Potter");
-        Page<Book> bookPage = new PageImpl<>(Collections.singletonList(book));
+        Page<BookCardDTO> cardPage = new PageImpl<>(Collections.singletonList(card(1L, "Harry Potter")));
 
-        when(bookRepository.findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable))
-                .thenReturn(bookPage);
+        when(bookRepository.findCardsByKeyword("harry", pageable)).thenReturn(cardPage);
 
-        Page<BookDTO> result = bookService.getAllBooks(keyword, null, pageable);
+        Page<BookCardDTO> result = bookService.getAllBooks(keyword, null, pageable);
 
         assertEquals(1, result.getTotalElements());
         assertEquals("Harry Potter", result.getContent().get(0).getName());
-        verify(bookRepository).findByNameContainingIgnoreCaseOrAuthorContainingIgnoreCase(keyword, keyword, pageable);
+        verify(bookRepository).findCardsByKeyword("harry", pageable);
+    }
+
+    @Test
+    void getAllBooks_WithKeyword_IndexReady_ShouldReturnRankedPage() {
+        Pageable pageable = PageRequest.of(1, 2);
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookSearchIndex.search("harry")).thenReturn(List.of(5L, 9L, 3L, 7L, 1L));
+        when(bookFacetIndex.match(any(BookFilter.class), any(BitSet.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(bookRepository.findCardsByIdIn(List.of(3L, 7L)))
+                .thenReturn(List.of(card(7L, "Harry Potter 2"), card(3L, "Harry Potter 3")));
+
+        Page<BookCardDTO> result = bookService.getAllBooks("harry", null, pageable);
+
+        assertEquals(5, result.getTotalElements());
+        assertEquals(3L, result.getContent().get(0).getId());
+        assertEquals(7L, result.getContent().get(1).getId());
+        verify(bookRepository, never()).findCardsByKeyword(any(), any());
+    }
+
+    @Test
+    void getAllBooks_WithKeywordAndSort_IndexReady_ShouldSortKeywordHits() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "price"));
+        BitSet matches = bookOrdinals.toBitSet(List.of(5L, 9L, 3L));
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookSearchIndex.search("harry")).thenReturn(List.of(5L, 9L, 3L));
+        when(bookFacetIndex.match(any(BookFilter.class), any(BitSet.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(bookFacetIndex.sortedPage(matches, pageable.getSort(), 0, 2)).thenReturn(List.of(9L, 3L));
+        when(bookRepository.findCardsByIdIn(List.of(9L, 3L)))
+                .thenReturn(List.of(card(3L, "Harry 3"), card(9L, "Harry 9")));
+
+        Page<BookCardDTO> result = bookService.getAllBooks("harry", null, pageable);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(List.of(9L, 3L), result.getContent().stream().map(BookCardDTO::getId).toList());
+    }
+
+    @Test
+    void getAllBooks_WithKeywordByRelevance_IndexNotReady_ShouldFallBackToNameOrder() {
+        Pageable pageable = PageRequest.of(1, 2);
+        Pageable byName = PageRequest.of(1, 2, Sort.by("name").and(Sort.by("id")));
+
+        when(catalogIndexManager.isReady()).thenReturn(false);
+        when(bookRepository.findCardsByKeyword("harry", byName)).thenReturn(new PageImpl<>(List.of()));
+
+        bookService.getAllBooks("harry", null, pageable);
+
+        verify(bookRepository).findCardsByKeyword("harry", byName);
+    }
+
+    @Test
+    void getAllBooks_WithFacets_IndexReady_ShouldPageFacetMatches() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("price"));
+        BookFilter filter = new BookFilter(null, "Fantasy", Language.ENGLISH, null, PriceBand.FROM_10_TO_20, true);
+        BitSet matches = bookOrdinals.toBitSet(List.of(2L, 4L, 6L));
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookFacetIndex.match(filter, null)).thenReturn(matches);
+        when(bookFacetIndex.sortedPage(matches, pageable.getSort(), 0, 2)).thenReturn(List.of(4L));
+        when(bookRepository.findCardsByIdIn(List.of(4L))).thenReturn(List.of(card(4L, "Book")));
+
+        Page<BookCardDTO> result = bookService.getAllBooks(filter, pageable);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(4L, result.getContent().get(0).getId());
+        verify(bookRepository, never()).findCardsByGenre(any(), any(Pageable.class));
+    }
+
+    @Test
+    void getAllBooks_WithKeywordAndPriceRange_IndexReady_ShouldIntersectCandidates() {
+        Pageable pageable = PageRequest.of(0, 10);
+        BookFilter filter = new BookFilter("harry", null, null, null, null, false,
+                new BigDecimal("10"), new BigDecimal("20"));
+        BitSet inRange = bookOrdinals.toBitSet(List.of(3L, 4L, 5L));
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookSearchIndex.search("harry")).thenReturn(List.of(5L, 3L, 1L));
+        when(priceIndex.range(new BigDecimal("10"), new BigDecimal("20"))).thenReturn(inRange);
+        when(bookFacetIndex.match(eq(filter), any(BitSet.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        when(bookRepository.findCardsByIdIn(List.of(5L, 3L)))
+                .thenReturn(List.of(card(3L, "Harry 3"), card(5L, "Harry 5")));
+
+        Page<BookCardDTO> result = bookService.getAllBooks(filter, pageable);
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(5L, 3L), result.getContent().stream().map(BookCardDTO::getId).toList());
+    }
+
+    @Test
+    void getSpellingCorrection_ShouldReturnCorrectionThatHasMatches() {
+        BookFilter filter = new BookFilter("hary", "Fantasy");
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(spellingIndex.correct("hary")).thenReturn(Optional.of("harry"));
+        when(bookSearchIndex.search("harry")).thenReturn(List.of(1L));
+        when(bookFacetIndex.match(eq(new BookFilter("harry", "Fantasy")), any(BitSet.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+
+        assertEquals(Optional.of("harry"), bookService.getSpellingCorrection(filter));
+    }
+
+    @Test
+    void getSpellingCorrection_CorrectionWithoutMatches_ShouldReturnEmpty() {
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(spellingIndex.correct("hary")).thenReturn(Optional.of("harry"));
+        when(bookSearchIndex.search("harry")).thenReturn(List.of(1L));
+        when(bookFacetIndex.match(any(BookFilter.class), any(BitSet.class))).thenReturn(new BitSet());
+
+        assertTrue(bookService.getSpellingCorrection(new BookFilter("hary", "Poetry")).isEmpty());
+    }
+
+    @Test
+    void getSpellingCorrection_IndexNotReady_ShouldReturnEmpty() {
+        assertTrue(bookService.getSpellingCorrection(new BookFilter("hary", null)).isEmpty());
+        verifyNoInteractions(spellingIndex);
+    }
+
+    @Test
+    void getPriceHistogram_ShouldUseIndexOnlyWhenReady() {
+        PriceHistogramDTO histogram = new PriceHistogramDTO(BigDecimal.ONE, BigDecimal.TEN, 1, List.of());
+
+        assertNull(bookService.getPriceHistogram());
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(priceIndex.histogram()).thenReturn(histogram);
+
+        assertSame(histogram, bookService.getPriceHistogram());
+    }
+
+    @Test
+    void getAllBooks_IndexReady_EmptyPage_ShouldNotQueryRepository() {
+        Pageable pageable = PageRequest.of(3, 2);
+        BookFilter filter = new BookFilter(null, "Fantasy");
+        BitSet matches = bookOrdinals.toBitSet(List.of(2L));
+
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookFacetIndex.match(filter, null)).thenReturn(matches);
+        when(bookFacetIndex.sortedPage(matches, pageable.getSort(), 6, 2)).thenReturn(List.of());
+
+        Page<BookCardDTO> result = bookService.getAllBooks(filter, pageable);
+
+        assertTrue(result.getContent().isEmpty());
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void getAllBooks_WithFacets_IndexNotReady_ShouldUseCombinedQuery() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("price"));
+        BookFilter filter = new BookFilter("harry", "Fantasy", Language.ENGLISH, null, PriceBand.FROM_10_TO_20, true);
+        when(bookRepository.findCardsByFilter("harry", "Fantasy", Language.ENGLISH, null,
+                PriceBand.FROM_10_TO_20.getMin(), PriceBand.FROM_10_TO_20.getMax(), null, null, true, pageable))
+                .thenReturn(new PageImpl<>(List.of(card(1L, "Harry"))));
+
+        Page<BookCardDTO> result = bookService.getAllBooks(filter, pageable);
+
+        assertEquals(1, result.getTotalElements());
+    }
+
+    @Test
+    void getBooksByCursor_FirstPage_ShouldReturnOnlyNextCursor() {
+        BookCardDTO first = card(1L, "First");
+        first.setPrice(BigDecimal.valueOf(10));
+        BookCardDTO second = card(2L, "Second");
+        second.setPrice(BigDecimal.valueOf(20));
+
+        when(bookRepository.findCardsBy(eq(ScrollPosition.keyset()), any(Sort.class), eq(Limit.of(2))))
+                .thenReturn(Window.from(List.of(view(first), view(second)), ScrollPosition::offset, true));
+
+        CursorPage<BookCardDTO> result = bookService.getBooksByCursor(null, BookSortField.PRICE, Sort.Direction.ASC, null, 2);
+
+        assertEquals(2, result.getContent().size());
+        assertFalse(result.hasPrevious());
+        assertTrue(result.hasNext());
+    }
+
+    @Test
+    void getBooksByCursor_NextCursor_ShouldSeekAfterLastBook() {
+        BookCardDTO last = card(2L, "Last");
+        last.setPrice(BigDecimal.valueOf(20));
+        when(bookRepository.findCardsBy(eq(ScrollPosition.keyset()), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(view(last)), ScrollPosition::offset, true));
+        String nextCursor = bookService.getBooksByCursor(null, BookSortField.PRICE, Sort.Direction.ASC, null, 1)
+                .getNextCursor();
+
+        BookCardDTO following = card(3L, "Following");
+        following.setPrice(BigDecimal.valueOf(30));
+        ScrollPosition expected = ScrollPosition.forward(java.util.Map.of("price", BigDecimal.valueOf(20), "id", 2L));
+        when(bookRepository.findCardsByGenre(eq("Fantasy"), eq(expected), any(Sort.class), eq(Limit.of(1))))
+                .thenReturn(Window.from(List.of(view(following)), ScrollPosition::offset, false));
+
+        CursorPage<BookCardDTO> result = bookService.getBooksByCursor("Fantasy", BookSortField.PRICE, Sort.Direction.ASC, nextCursor, 1);
+
+        assertEquals(3L, result.getContent().get(0).getId());
+        assertTrue(result.hasPrevious());
+        assertFalse(result.hasNext());
     }
 
     @Test
@@ -141,6 +425,43 @@ public class BookServiceImplTest {
         assertThrows(NotFoundException.class, () -> bookService.getBookByName(name));
     }
 
+    @Test
+    void getBookBySlug_IndexReady_ShouldFetchByPrimaryKey() {
+        Book book = new Book();
+        book.setId(3L);
+        book.setName("Dune");
+        book.setSlug("dune");
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdBySlug("dune")).thenReturn(Optional.of(3L));
+        when(bookRepository.findById(3L)).thenReturn(Optional.of(book));
+
+        BookDTO result = bookService.getBookBySlug("dune");
+
+        assertEquals("Dune", result.getName());
+        verify(bookRepository, never()).findBySlug(anyString());
+    }
+
+    @Test
+    void getBookBySlug_IndexReady_ShouldAcceptLegacyNameLinks() {
+        Book book = new Book();
+        book.setId(3L);
+        book.setName("Dune");
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdBySlug("Dune")).thenReturn(Optional.empty());
+        when(bookLookupIndex.findIdByName("Dune")).thenReturn(Optional.of(3L));
+        when(bookRepository.findById(3L)).thenReturn(Optional.of(book));
+
+        assertEquals("Dune", bookService.getBookBySlug("Dune").getName());
+    }
+
+    @Test
+    void getBookBySlug_IndexNotReady_ShouldQueryBySlugThenName() {
+        when(bookRepository.findBySlug("missing")).thenReturn(Optional.empty());
+        when(bookRepository.findByName("missing")).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bookService.getBookBySlug("missing"));
+    }
+
 
     @Test
     void addBook_Success() {
@@ -149,7 +470,7 @@ public class BookServiceImplTest {
         dto.setPrice(BigDecimal.valueOf(20.0));
 
         when(bookRepository.findByName("New Book")).thenReturn(Optional.empty());
-        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> {
+        when(bookRepository.saveAndFlush(any(Book.class))).thenAnswer(invocation -> {
             Book b = invocation.getArgument(0);
             b.setId(10L);
             return b;
@@ -160,7 +481,9 @@ public class BookServiceImplTest {
         assertNotNull(result);
         assertEquals(10L, result.getId());
         assertEquals("New Book", result.getName());
-        verify(bookRepository).save(any(Book.class));
+        verify(bookRepository).saveAndFlush(any(Book.class));
+        verify(bookSlugAssigner).assign(any(Book.class));
+        verify(eventPublisher).publishEvent(any(BookChangedEvent.class));
     }
 
     @Test
@@ -170,7 +493,30 @@ public class BookServiceImplTest {
         when(bookRepository.findByName("Existing Book")).thenReturn(Optional.of(new Book()));
 
         assertThrows(AlreadyExistException.class, () -> bookService.addBook(dto));
-        verify(bookRepository, never()).save(any(Book.class));
+        verify(bookRepository, never()).saveAndFlush(any(Book.class));
+    }
+
+    @Test
+    void addBook_ConcurrentDuplicateName_ShouldThrowAlreadyExists() {
+        BookDTO dto = new BookDTO();
+        dto.setName("Raced Book");
+        when(bookRepository.findByName("Raced Book")).thenReturn(Optional.empty());
+        when(bookRepository.saveAndFlush(any(Book.class))).thenThrow(new DataIntegrityViolationException("insert",
+                new SQLException("Unique index or primary key violation: \"PUBLIC.UK_BOOKS_NAME_INDEX_3 ON PUBLIC.BOOKS(NAME)\"")));
+
+        assertThrows(AlreadyExistException.class, () -> bookService.addBook(dto));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void addBook_OtherConstraintViolation_ShouldPropagate() {
+        BookDTO dto = new BookDTO();
+        dto.setName("Broken Book");
+        when(bookRepository.findByName("Broken Book")).thenReturn(Optional.empty());
+        when(bookRepository.saveAndFlush(any(Book.class)))
+                .thenThrow(new DataIntegrityViolationException("insert", new SQLException("NULL not allowed for PRICE")));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookService.addBook(dto));
     }
 
     @Test
@@ -185,13 +531,80 @@ public class BookServiceImplTest {
         existingBook.setName("Old Name");
 
         when(bookRepository.findById(id)).thenReturn(Optional.of(existingBook));
-        when(bookRepository.save(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.saveAndFlush(any(Book.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         BookDTO result = bookService.updateBook(id, dto);
 
         assertEquals("Updated Name", result.getName());
         assertEquals(id, result.getId());
-        verify(bookRepository).save(existingBook);
+        verify(bookRepository).saveAndFlush(existingBook);
+        verify(bookSlugAssigner).assign(existingBook);
+    }
+
+    @Test
+    void getBookVersion_IndexReady_ShouldResolveSlugWithoutRepository() {
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdBySlug("dune")).thenReturn(Optional.of(3L));
+        when(catalogVersionTracker.getBookVersion(3L)).thenReturn(42L);
+
+        assertEquals(Optional.of(42L), bookService.getBookVersion("dune"));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void getBookVersion_BoughtTogetherChanges_ShouldChangeVersion() {
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdBySlug("dune")).thenReturn(Optional.of(3L));
+        when(catalogVersionTracker.getBookVersion(3L)).thenReturn(42L);
+        when(coPurchaseIndex.neighbours(3L)).thenReturn(List.of(5L)).thenReturn(List.of(5L)).thenReturn(List.of(6L));
+        when(catalogVersionTracker.getBookVersion(5L)).thenReturn(7L, 8L);
+        when(catalogVersionTracker.getBookVersion(6L)).thenReturn(8L);
+
+        long first = bookService.getBookVersion("dune").orElseThrow();
+        long neighbourUpdated = bookService.getBookVersion("dune").orElseThrow();
+        long neighbourReplaced = bookService.getBookVersion("dune").orElseThrow();
+
+        assertNotEquals(first, neighbourUpdated);
+        assertNotEquals(neighbourUpdated, neighbourReplaced);
+    }
+
+    @Test
+    void getBookVersion_IndexNotReady_ShouldBeEmpty() {
+        when(catalogIndexManager.isReady()).thenReturn(false);
+
+        assertTrue(bookService.getBookVersion("dune").isEmpty());
+        verifyNoInteractions(bookLookupIndex);
+    }
+
+    @Test
+    void updateCover_ShouldStoreLocalUrlAndPublishChange() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setName("Covered");
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(bookRepository.save(book)).thenReturn(book);
+
+        BookDTO result = bookService.updateCover(1L, "/covers/abc.jpg");
+
+        assertEquals("/covers/abc.jpg", result.getImageUrl());
+        verify(eventPublisher).publishEvent(any(BookChangedEvent.class));
+    }
+
+    @Test
+    void updateBook_NameTakenByAnotherBook_ShouldThrowException() {
+        BookDTO dto = new BookDTO();
+        dto.setName("Taken");
+        Book existingBook = new Book();
+        existingBook.setId(1L);
+        existingBook.setName("Old Name");
+        Book other = new Book();
+        other.setId(2L);
+        other.setName("Taken");
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(existingBook));
+        when(bookRepository.findByName("Taken")).thenReturn(Optional.of(other));
+
+        assertThrows(AlreadyExistException.class, () -> bookService.updateBook(1L, dto));
+        verify(bookRepository, never()).save(any());
     }
 
 
@@ -215,7 +628,23 @@ public class BookServiceImplTest {
 
         bookService.deleteBookByName(name);
 
-        verify(bookRepository).deleteByName(name);
+        verify(bookRepository).delete(book);
+        verify(eventPublisher).publishEvent(BookChangedEvent.deleted(book.getId()));
+    }
+
+    @Test
+    void deleteBookByName_IndexReady_ShouldFetchByPrimaryKey() {
+        Book book = new Book();
+        book.setId(5L);
+        book.setName("Delete Me");
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdByName("Delete Me")).thenReturn(Optional.of(5L));
+        when(bookRepository.findById(5L)).thenReturn(Optional.of(book));
+
+        bookService.deleteBookByName("Delete Me");
+
+        verify(bookRepository).delete(book);
+        verify(bookRepository, never()).findByName(anyString());
     }
 
     @Test
@@ -224,7 +653,7 @@ public class BookServiceImplTest {
         when(bookRepository.findByName(name)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookService.deleteBookByName(name));
-        verify(bookRepository, never()).deleteByName(anyString());
+        verify(bookRepository, never()).delete(any(Book.class));
     }
 
     @Test
@@ -238,4 +667,67 @@ public class BookServiceImplTest {
         assertTrue(result.contains("Fantasy"));
     }
 
+    @Test
+    void getGenreFacets_IndexReady_ShouldNotQueryRepository() {
+        List<GenreFacetDTO> facets = List.of(new GenreFacetDTO("Fantasy", 3, 2));
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(genreFacetIndex.getFacets()).thenReturn(facets);
+
+        List<GenreFacetDTO> result = bookService.getGenreFacets();
+
+        assertEquals(facets, result);
+        verify(bookRepository, never()).findGenreFacets();
+    }
+
+    @Test
+    void getGenreFacets_IndexNotReady_ShouldFallBackToRepository() {
+        List<GenreFacetDTO> facets = List.of(new GenreFacetDTO("Fantasy", 3, 2));
+        when(bookRepository.findGenreFacets()).thenReturn(facets);
+
+        assertEquals(facets, bookService.getGenreFacets());
+    }
+
+    @Test
+    void getSuggestions_IndexReady_ShouldUseSuggestionIndex() {
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(suggestionIndex.suggest("har", 5)).thenReturn(List.of("Harry Potter"));
+
+        assertEquals(List.of("Harry Potter"), bookService.getSuggestions("har", 5));
+    }
+
+    @Test
+    void getSuggestions_IndexNotReady_ShouldReturnEmptyWithoutQueryingDatabase() {
+        assertTrue(bookService.getSuggestions("har", 5).isEmpty());
+
+        verifyNoInteractions(suggestionIndex, bookRepository);
+    }
+
+    @Test
+    void getFrequentlyBoughtTogether_ShouldLoadNeighbourCardsInRankOrder() {
+        when(coPurchaseIndex.neighbours(1L)).thenReturn(List.of(3L, 2L));
+        when(bookRepository.findCardsByIdIn(List.of(3L, 2L))).thenReturn(List.of(card(2L, "Second"), card(3L, "Third")));
+
+        List<BookCardDTO> result = bookService.getFrequentlyBoughtTogether(1L);
+
+        assertEquals(List.of("Third", "Second"), result.stream().map(BookCardDTO::getName).toList());
+    }
+
+    @Test
+    void getFrequentlyBoughtTogether_NoNeighbours_ShouldNotQuery() {
+        when(coPurchaseIndex.neighbours(1L)).thenReturn(List.of());
+
+        assertTrue(bookService.getFrequentlyBoughtTogether(1L).isEmpty());
+        verify(bookRepository, never()).findCardsByIdIn(any());
+    }
+
+    private BookCardDTO card(Long id, String name) {
+        BookCardDTO card = new BookCardDTO();
+        card.setId(id);
+        card.setName(name);
+        return card;
+    }
+
+    private BookCardView view(BookCardDTO card) {
+        return new SpelAwareProxyProjectionFactory().createProjection(BookCardView.class, card);
+    }
 }
@@ -0,0 +1,132 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.BookSlugAssigner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookSlugAssignerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private BookSlugAssigner bookSlugAssigner;
+
+    @Test
+    void assign_ShouldBuildUrlSafeSlugFromName() {
+        Book book = book(1L, "  The Lord of the Rings: Part 1!  ");
+        when(bookRepository.findBySlug(anyString())).thenReturn(Optional.empty());
+
+        bookSlugAssigner.assign(book);
+
+        assertEquals("the-lord-of-the-rings-part-1", book.getSlug());
+    }
+
+    @Test
+    void assign_SlugTakenByAnotherBook_ShouldAppendSuffix() {
+        Book book = book(2L, "C++");
+        when(bookRepository.findBySlug("c")).thenReturn(Optional.of(book(1L, "C")));
+        when(bookRepository.findBySlug("c-2")).thenReturn(Optional.empty());
+
+        bookSlugAssigner.assign(book);
+
+        assertEquals("c-2", book.getSlug());
+    }
+
+    @Test
+    void assign_SlugOwnedBySameBook_ShouldKeepIt() {
+        Book book = book(1L, "Dune");
+        when(bookRepository.findBySlug("dune")).thenReturn(Optional.of(book(1L, "Dune")));
+
+        bookSlugAssigner.assign(book);
+
+        assertEquals("dune", book.getSlug());
+    }
+
+    @Test
+    void assign_NameWithoutLettersOrDigits_ShouldFallBackToBook() {
+        Book book = book(1L, "?!");
+        when(bookRepository.findBySlug("book")).thenReturn(Optional.empty());
+
+        bookSlugAssigner.assign(book);
+
+        assertEquals("book", book.getSlug());
+    }
+
+    @Test
+    void assign_NameMatchingControllerRoute_ShouldAppendSuffix() {
+        Book book = book(1L, "Manage");
+        when(bookRepository.findBySlug("manage-2")).thenReturn(Optional.empty());
+
+        bookSlugAssigner.assign(book);
+
+        assertEquals("manage-2", book.getSlug());
+        verify(bookRepository, never()).findBySlug("manage");
+    }
+
+    @Test
+    void assignMissingSlugsInBulk_NamesMatchingControllerRoutes_ShouldAppendSuffix() throws Exception {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("bestsellers-2"));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("name")).thenReturn("Bestsellers", "Add", "Suggest");
+        when(rs.getLong("id")).thenReturn(1L, 2L, 3L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (int i = 0; i < 3; i++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        assertEquals(3, bookSlugAssigner.assignMissingSlugsInBulk());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), argThat((List<Object[]> updates) ->
+                updates.size() == 3
+                        && "bestsellers-3".equals(updates.get(0)[0])
+                        && "add-2".equals(updates.get(1)[0])
+                        && "suggest-2".equals(updates.get(2)[0])));
+    }
+
+    @Test
+    void assignMissingSlugs_ShouldSaveEveryBookWithoutSlug() {
+        Book first = book(1L, "Dune");
+        Book second = book(2L, "Emma");
+        when(bookRepository.findBySlugIsNull()).thenReturn(List.of(first, second));
+        when(bookRepository.findBySlug(anyString())).thenReturn(Optional.empty());
+
+        bookSlugAssigner.assignMissingSlugs();
+
+        assertEquals("dune", first.getSlug());
+        assertEquals("emma", second.getSlug());
+        verify(bookRepository).saveAndFlush(first);
+        verify(bookRepository).saveAndFlush(second);
+    }
+
+    private Book book(Long id, String name) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        return book;
+    }
+}
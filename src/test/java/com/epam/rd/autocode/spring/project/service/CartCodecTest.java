@@ -0,0 +1,40 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.service.impl.CartCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CartCodecTest {
+
+    @Test
+    void encode_ShouldRoundTripLinesInOrder() {
+        List<CartLine> lines = List.of(new CartLine(42L, 3), new CartLine(Long.MAX_VALUE, 1), new CartLine(7L, 0));
+
+        byte[] encoded = CartCodec.encode(lines);
+
+        assertEquals(36, encoded.length);
+        assertEquals(lines, CartCodec.decode(encoded));
+    }
+
+    @Test
+    void decode_EmptyData_ShouldReturnEmptyCart() {
+        assertTrue(CartCodec.decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    void decode_TruncatedData_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> CartCodec.decode(new byte[13]));
+    }
+
+    @Test
+    void encode_TooManyLines_ShouldThrow() {
+        List<CartLine> lines = Collections.nCopies(CartCodec.MAX_LINES + 1, new CartLine(1L, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> CartCodec.encode(lines));
+    }
+}
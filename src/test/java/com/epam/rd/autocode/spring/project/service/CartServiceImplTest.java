@@ -1,214 +1,282 @@
 package com.epam.rd.autocode.spring.project.service;
 
-import com.epam.rd.autocode.spring.project.dto.BookDTO;
+import com.epam.rd.autocode.spring.project.dto.BookStockDTO;
 import com.epam.rd.autocode.spring.project.dto.CartItem;
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
 import com.epam.rd.autocode.spring.project.service.impl.CartServiceImpl;
-import jakarta.servlet.http.HttpSession;
+import com.epam.rd.autocode.spring.project.service.impl.StockReservationServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class CartServiceImplTest {
+
+    private static final String OWNER = "client@test.com";
+    private static final String OTHER = "other@test.com";
+
     @Mock
     private BookService bookService;
 
-    @Mock
-    private HttpSession session;
+    private InMemoryCartStore cartStore;
 
-    @InjectMocks
-    private CartServiceImpl cartService;
+    private StockReservationService reservations;
 
-    private List<CartItem> cartList;
-    private static final String CART_SESSION_KEY = "cart";
+    private CartServiceImpl cartService;
 
     @BeforeEach
     void setUp() {
-        cartList = new ArrayList<>();
-        lenient().when(session.getAttribute(CART_SESSION_KEY)).thenReturn(cartList);
+        cartStore = new InMemoryCartStore();
+        reservations = new StockReservationServiceImpl(new CatalogVersionTracker(), Clock.systemUTC(),
+                Duration.ofMinutes(15));
+        cartService = new CartServiceImpl(bookService, cartStore, reservations, 64);
     }
 
     @Test
-    void getCart_ShouldUpdatePricesAndStock() {
+    void getCart_ShouldResolvePricesAndNamesAtReadTime() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 2)));
+        when(bookService.getStock(Set.of(1L)))
+                .thenReturn(Map.of(1L, stock(1L, "Dune", "100", 1)));
+
+        List<CartItem> result = cartService.getCart(OWNER);
+
+        CartItem item = result.get(0);
+        assertEquals("Dune", item.getBookName());
+        assertEquals(new BigDecimal("100"), item.getPrice(), "Price should be updated");
+        assertEquals(1, item.getAvailableStock(), "Stock should be updated");
+        assertEquals(1, item.getQuantity(), "Quantity should be reduced to available stock");
+        assertEquals(List.of(new CartLine(1L, 1)), cartStore.load(OWNER), "Clamped quantity should be stored");
+    }
 
-        CartItem item = new CartItem();
-        item.setBookId(1L);
-        item.setQuantity(2);
-        item.setPrice(BigDecimal.valueOf(50));
-        cartList.add(item);
+    @Test
+    void getCart_ManyLines_ShouldRefreshWithSingleStockLookup() {
+        List<CartLine> lines = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            lines.add(new CartLine(id, 1));
+        }
+        cartStore.save(OWNER, lines);
+        when(bookService.getStock(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, BookStockDTO> stock = new HashMap<>();
+            for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+                stock.put(id, stock(id, "Book " + id, String.valueOf(id), 3));
+            }
+            return stock;
+        });
+
+        List<CartItem> result = cartService.getCart(OWNER);
+
+        assertEquals(30, result.size());
+        assertEquals(BigDecimal.valueOf(30), result.get(29).getPrice());
+        verify(bookService, times(1)).getStock(anyCollection());
+        verify(bookService, never()).getBookById(anyLong());
+        assertEquals(1, cartStore.saves, "Unchanged cart should not be rewritten");
+    }
 
-        BookDTO book = new BookDTO();
-        book.setId(1L);
-        book.setPrice(BigDecimal.valueOf(100));
-        book.setQuantity(1);
+    @Test
+    void getCart_BookNoLongerInCatalog_ShouldDropLine() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1), new CartLine(2L, 1)));
+        when(bookService.getStock(Set.of(1L, 2L)))
+                .thenReturn(Map.of(1L, stock(1L, "Kept", "10", 4)));
 
-        when(bookService.getBookById(1L)).thenReturn(book);
+        List<CartItem> result = cartService.getCart(OWNER);
 
+        assertEquals(List.of(1L), result.stream().map(CartItem::getBookId).toList());
+        assertEquals(List.of(new CartLine(1L, 1)), cartStore.load(OWNER));
+    }
 
-        List<CartItem> result = cartService.getCart(session);
+    @Test
+    void getCart_OtherCustomerHoldsStock_ShouldClampToWhatIsLeft() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Dune", "10", 5)));
+        cartService.addItem(OTHER, 1L, 3);
+        cartStore.save(OWNER, List.of(new CartLine(1L, 4)));
+        when(bookService.getStock(Set.of(1L))).thenReturn(Map.of(1L, stock(1L, "Dune", "10", 5)));
 
+        List<CartItem> result = cartService.getCart(OWNER);
 
-        CartItem resultItem = result.get(0);
-        assertEquals(BigDecimal.valueOf(100), resultItem.getPrice(), "Price should be updated");
-        assertEquals(1, resultItem.getAvailableStock(), "Stock should be updated");
-        assertEquals(1, resultItem.getQuantity(), "Quantity should be reduced to available stock");
+        assertEquals(2, result.get(0).getQuantity());
+        assertEquals(2, result.get(0).getAvailableStock());
+        assertEquals(5, reservations.getReserved(1L));
     }
 
     @Test
-    void getCart_EmptySession_ShouldReturnEmptyList() {
-        when(session.getAttribute(CART_SESSION_KEY)).thenReturn(null);
-
-        List<CartItem> result = cartService.getCart(session);
+    void getCart_EmptyCart_ShouldReturnEmptyListWithoutLookup() {
+        List<CartItem> result = cartService.getCart(OWNER);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
-
-        verify(session).setAttribute(eq(CART_SESSION_KEY), any(List.class));
+        verifyNoInteractions(bookService);
     }
 
     @Test
-    void addItem_NewItem_ShouldAddToSession() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setName("Test Book");
-        book.setPrice(BigDecimal.TEN);
-        book.setQuantity(10);
-        book.setImageUrl("img.jpg");
-
-        when(bookService.getBookById(bookId)).thenReturn(book);
+    void addItem_NewItem_ShouldStoreOnlyIdAndQuantity() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 10)));
 
-        cartService.addItem(session, bookId, 2);
+        cartService.addItem(OWNER, 1L, 2);
 
-        assertEquals(1, cartList.size());
-        assertEquals(bookId, cartList.get(0).getBookId());
-        assertEquals(2, cartList.get(0).getQuantity());
-        assertEquals("img.jpg", cartList.get(0).getImageUrl());
+        assertEquals(List.of(new CartLine(1L, 2)), cartStore.load(OWNER));
     }
 
     @Test
     void addItem_ExistingItem_ShouldIncreaseQuantity() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setQuantity(10);
-        book.setPrice(BigDecimal.TEN);
+        cartStore.save(OWNER, List.of(new CartLine(1L, 2)));
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 10)));
 
-        CartItem item = new CartItem();
-        item.setBookId(bookId);
-        item.setQuantity(2);
-        cartList.add(item);
+        cartService.addItem(OWNER, 1L, 3);
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
-
-        cartService.addItem(session, bookId, 3);
-
-        assertEquals(1, cartList.size());
-        assertEquals(5, cartList.get(0).getQuantity());
+        assertEquals(List.of(new CartLine(1L, 5)), cartStore.load(OWNER));
     }
 
     @Test
     void addItem_ExceedStock_ShouldCapAtMaxStock() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setQuantity(5);
-        book.setPrice(BigDecimal.TEN);
+        cartStore.save(OWNER, List.of(new CartLine(1L, 4)));
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 5)));
 
-        CartItem item = new CartItem();
-        item.setBookId(bookId);
-        item.setQuantity(4);
-        cartList.add(item);
+        cartService.addItem(OWNER, 1L, 2);
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
+        assertEquals(List.of(new CartLine(1L, 5)), cartStore.load(OWNER));
+    }
 
+    @Test
+    void addItem_OutOfStock_ShouldNotAddLine() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 0)));
 
-        cartService.addItem(session, bookId, 2);
+        cartService.addItem(OWNER, 1L, 1);
 
-        assertEquals(5, cartList.get(0).getQuantity());
+        assertTrue(cartStore.load(OWNER).isEmpty());
     }
 
     @Test
-    void removeItem_ShouldRemoveFromList() {
-        CartItem item1 = new CartItem();
-        item1.setBookId(1L);
-        CartItem item2 = new CartItem();
-        item2.setBookId(2L);
-        cartList.add(item1);
-        cartList.add(item2);
+    void addItem_LastCopyReservedByAnotherCustomer_ShouldNotAddLine() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 1)));
 
-        cartService.removeItem(session, 1L);
+        cartService.addItem(OWNER, 1L, 1);
+        cartService.addItem(OTHER, 1L, 1);
 
-        assertEquals(1, cartList.size());
-        assertEquals(2L, cartList.get(0).getBookId());
+        assertEquals(List.of(new CartLine(1L, 1)), cartStore.load(OWNER));
+        assertTrue(cartStore.load(OTHER).isEmpty());
+        assertEquals(1, reservations.getReserved(1L));
     }
 
     @Test
-    void updateItemQuantity_ValidQuantity_ShouldUpdate() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setQuantity(10);
+    void addItem_UnknownBook_ShouldThrowNotFound() {
+        when(bookService.getStock(List.of(9L))).thenReturn(Map.of());
 
-        CartItem item = new CartItem();
-        item.setBookId(bookId);
-        item.setQuantity(1);
-        cartList.add(item);
+        assertThrows(NotFoundException.class, () -> cartService.addItem(OWNER, 9L, 1));
+    }
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
+    @Test
+    void removeItem_ShouldRemoveLine() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1), new CartLine(2L, 1)));
 
-        cartService.updateItemQuantity(session, bookId, 5);
+        cartService.removeItem(OWNER, 1L);
 
-        assertEquals(5, cartList.get(0).getQuantity());
+        assertEquals(List.of(new CartLine(2L, 1)), cartStore.load(OWNER));
     }
 
     @Test
-    void updateItemQuantity_ZeroQuantity_ShouldRemoveItem() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setQuantity(10);
+    void removeItem_ShouldReleaseReservation() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 1)));
+        cartService.addItem(OWNER, 1L, 1);
+
+        cartService.removeItem(OWNER, 1L);
+        cartService.addItem(OTHER, 1L, 1);
+
+        assertEquals(List.of(new CartLine(1L, 1)), cartStore.load(OTHER));
+    }
 
-        CartItem item = new CartItem();
-        item.setBookId(bookId);
-        item.setQuantity(5);
-        cartList.add(item);
+    @Test
+    void updateItemQuantity_ValidQuantity_ShouldUpdate() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Book", "10", 10)));
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
+        cartService.updateItemQuantity(OWNER, 1L, 5);
 
-        cartService.updateItemQuantity(session, bookId, 0);
+        assertEquals(List.of(new CartLine(1L, 5)), cartStore.load(OWNER));
+    }
 
-        assertTrue(cartList.isEmpty());
+    @Test
+    void updateItemQuantity_ZeroQuantity_ShouldRemoveItem() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 5)));
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Book", "10", 10)));
+
+        cartService.updateItemQuantity(OWNER, 1L, 0);
+
+        assertTrue(cartStore.load(OWNER).isEmpty());
     }
 
     @Test
     void updateItemQuantity_ExceedStock_ShouldCap() {
-        Long bookId = 1L;
-        BookDTO book = new BookDTO();
-        book.setId(bookId);
-        book.setQuantity(5);
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Book", "10", 5)));
+
+        cartService.updateItemQuantity(OWNER, 1L, 10);
+
+        assertEquals(List.of(new CartLine(1L, 5)), cartStore.load(OWNER));
+    }
 
-        CartItem item = new CartItem();
-        item.setBookId(bookId);
-        item.setQuantity(1);
-        cartList.add(item);
+    @Test
+    void addItem_ConcurrentClicks_ShouldNotLoseUpdates() throws Exception {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Book", "10", 1_000_000)));
 
-        when(bookService.getBookById(bookId)).thenReturn(book);
+        runConcurrently(16, 250, (thread, i) -> cartService.addItem(OWNER, 1L, 1));
 
-        cartService.updateItemQuantity(session, bookId, 10);
+        assertEquals(List.of(new CartLine(1L, 4000)), cartStore.load(OWNER));
+    }
 
-        assertEquals(5, cartList.get(0).getQuantity());
+    @Test
+    void mutations_ConcurrentTabs_ShouldKeepOneLinePerBookAndEveryChange() throws Exception {
+        when(bookService.getStock(anyCollection())).thenAnswer(invocation -> {
+            Long id = invocation.<Collection<Long>>getArgument(0).iterator().next();
+            return Map.of(id, stock(id, "Book " + id, "10", 1_000_000));
+        });
+
+        runConcurrently(8, 100, (thread, i) -> {
+            long bookId = thread * 1000L + i;
+            cartService.addItem(OWNER, bookId, 2);
+            cartService.addItem(OWNER, bookId, 1);
+            if (i % 2 == 0) {
+                cartService.updateItemQuantity(OWNER, bookId, 7);
+            } else if (i % 5 == 0) {
+                cartService.removeItem(OWNER, bookId);
+            }
+        });
+
+        List<CartLine> lines = cartStore.load(OWNER);
+        assertEquals(lines.size(), lines.stream().map(CartLine::bookId).distinct().count(), "No duplicate lines");
+        for (int thread = 0; thread < 8; thread++) {
+            for (int i = 0; i < 100; i++) {
+                long bookId = thread * 1000L + i;
+                Integer expected = i % 2 == 0 ? Integer.valueOf(7) : i % 5 == 0 ? null : Integer.valueOf(3);
+                Integer actual = lines.stream().filter(line -> line.bookId() == bookId)
+                        .map(CartLine::quantity).findFirst().orElse(null);
+                assertEquals(expected, actual, "Book " + bookId);
+            }
+        }
     }
 
     @Test
@@ -221,18 +289,147 @@ public class CartServiceImplTest {
         item2.setPrice(BigDecimal.valueOf(50));
         item2.setQuantity(1);
 
-        List<CartItem> items = List.of(item1, item2);
-
-        BigDecimal total = cartService.calculateTotal(items);
+        BigDecimal total = cartService.calculateTotal(List.of(item1, item2));
 
         assertEquals(BigDecimal.valueOf(250), total);
     }
 
     @Test
-    void clearCart_ShouldRemoveAttribute() {
-        cartService.clearCart(session);
+    void clearCart_ShouldEmptyStore() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+
+        cartService.clearCart(OWNER);
+
+        assertTrue(cartStore.load(OWNER).isEmpty());
+    }
+
+    @Test
+    void clearCart_ShouldReleaseReservations() {
+        when(bookService.getStock(List.of(1L))).thenReturn(Map.of(1L, stock(1L, "Test Book", "10", 4)));
+        cartService.addItem(OWNER, 1L, 3);
+
+        cartService.clearCart(OWNER);
+
+        assertEquals(0, reservations.getReserved(1L));
+    }
+
+    @Test
+    void checkout_ShouldPlaceOrderAndRemoveOrderedLines() {
+        stubStock(stock(1L, "Test Book", "10", 4));
+        cartService.addItem(OWNER, 1L, 3);
+        List<List<CartItem>> placed = new ArrayList<>();
+
+        assertTrue(cartService.checkout(OWNER, placed::add));
+
+        assertEquals(1, placed.size());
+        assertEquals(3, placed.get(0).get(0).getQuantity());
+        assertTrue(cartStore.load(OWNER).isEmpty());
+        assertEquals(0, reservations.getReserved(1L));
+    }
+
+    @Test
+    void checkout_EmptyCart_ShouldNotPlaceOrder() {
+        assertFalse(cartService.checkout(OWNER, cart -> fail("No order expected")));
+    }
+
+    @Test
+    void checkout_OrderFails_ShouldKeepCartAndReservations() {
+        stubStock(stock(1L, "Test Book", "10", 4));
+        cartService.addItem(OWNER, 1L, 3);
+
+        assertThrows(IllegalStateException.class, () -> cartService.checkout(OWNER, cart -> {
+            throw new IllegalStateException("Not enough money");
+        }));
+
+        assertEquals(List.of(new CartLine(1L, 3)), cartStore.load(OWNER));
+        assertEquals(3, reservations.getReserved(1L));
+    }
+
+    @Test
+    void checkout_LineAddedInAnotherTab_ShouldSurviveCheckout() throws Exception {
+        stubStock(stock(1L, "First", "10", 4), stock(2L, "Second", "10", 4));
+        cartService.addItem(OWNER, 1L, 1);
+        Thread otherTab = new Thread(() -> cartService.addItem(OWNER, 2L, 2));
+
+        cartService.checkout(OWNER, cart -> {
+            otherTab.start();
+            try {
+                otherTab.join(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            assertTrue(otherTab.isAlive(), "Other tab must wait for the checkout lock");
+        });
+        otherTab.join(5_000);
+
+        assertEquals(List.of(new CartLine(2L, 2)), cartStore.load(OWNER));
+        assertEquals(0, reservations.getReserved(1L));
+        assertEquals(2, reservations.getReserved(2L));
+    }
 
-        verify(session).removeAttribute(CART_SESSION_KEY);
+    private void runConcurrently(int threads, int iterations, Step step) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < iterations; i++) {
+                        step.run(thread, i);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
     }
 
+    private interface Step {
+        void run(int thread, int iteration);
+    }
+
+    private void stubStock(BookStockDTO... books) {
+        Map<Long, BookStockDTO> catalog = new HashMap<>();
+        for (BookStockDTO book : books) {
+            catalog.put(book.getId(), book);
+        }
+        when(bookService.getStock(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, BookStockDTO> found = new HashMap<>();
+            invocation.<Collection<Long>>getArgument(0).forEach(id -> found.put(id, catalog.get(id)));
+            return found;
+        });
+    }
+
+    private BookStockDTO stock(Long id, String name, String price, int quantity) {
+        return new BookStockDTO(id, name, new BigDecimal(price), quantity, "img.jpg");
+    }
+
+    private static class InMemoryCartStore implements CartStore {
+        private final Map<String, List<CartLine>> carts = new ConcurrentHashMap<>();
+        private volatile int saves;
+
+        @Override
+        public List<CartLine> load(String owner) {
+            return carts.getOrDefault(owner, List.of());
+        }
+
+        @Override
+        public void save(String owner, List<CartLine> lines) {
+            saves++;
+            Thread.yield();
+            carts.put(owner, List.copyOf(lines));
+        }
+
+        @Override
+        public void clear(String owner) {
+            carts.remove(owner);
+        }
+    }
 }
@@ -0,0 +1,288 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.CartItem;
+import com.epam.rd.autocode.spring.project.index.BookLookupIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
+import com.epam.rd.autocode.spring.project.model.Book;
+import com.epam.rd.autocode.spring.project.model.enums.OrderStatus;
+import com.epam.rd.autocode.spring.project.repo.BookRepository;
+import com.epam.rd.autocode.spring.project.service.impl.CheckoutWriter;
+import com.epam.rd.autocode.spring.project.service.impl.OrderServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderServiceImpl.class, CheckoutWriter.class})
+class CheckoutWriterTest {
+
+    private static final String PREFIX = "checkout-test";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CheckoutWriter checkoutWriter;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private BookLookupIndex bookLookupIndex;
+
+    @MockBean
+    private CatalogIndexManager catalogIndexManager;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("DELETE FROM book_items WHERE book_id IN (SELECT id FROM books WHERE name LIKE ?)", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM orders WHERE client_id IN (SELECT id FROM CLIENTS WHERE email LIKE ?)", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM CLIENTS WHERE email LIKE ?", PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM books WHERE name LIKE ?", PREFIX + "%");
+    }
+
+    @Test
+    void decrementStock_ShouldReportOnlyLinesThatFailTheirGuard() {
+        Long plenty = book("Plenty", "5.00", 5);
+        Long scarce = book("Scarce", "5.00", 1);
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        quantities.put(plenty, 2);
+        quantities.put(scarce, 3);
+
+        List<Long> failed = checkoutWriter.decrementStock(quantities);
+
+        assertEquals(List.of(scarce), failed);
+        assertEquals(3, quantity(plenty));
+        assertEquals(1, quantity(scarce));
+    }
+
+    @Test
+    void debitBalance_ShouldNeverGoNegative() {
+        Long client = client("poor", "30.00");
+
+        assertTrue(checkoutWriter.debitBalance(client, new BigDecimal("20.00")));
+        assertFalse(checkoutWriter.debitBalance(client, new BigDecimal("20.00")));
+        assertEquals(0, new BigDecimal("10.00").compareTo(balance(client)));
+    }
+
+    @Test
+    void createOrderFromCart_ShouldDecrementStockDebitBalanceAndInsertItems() {
+        Long first = book("First", "10.00", 5);
+        Long second = book("Second", "4.00", 2);
+        Long client = client("buyer", "100.00");
+        authenticate(PREFIX + "-buyer@example.com");
+
+        orderService.createOrderFromCart(List.of(cartItem(first, 2), cartItem(second, 2)));
+
+        assertEquals(3, quantity(first));
+        assertEquals(0, quantity(second));
+        assertEquals(2, bookRepository.findById(first).orElseThrow().getSalesCount());
+        assertEquals(0, new BigDecimal("72.00").compareTo(balance(client)));
+        assertEquals(4, itemsSold(first) + itemsSold(second));
+    }
+
+    @Test
+    void createOrderFromCart_OneLineShort_ShouldRollBackEverything() {
+        Long first = book("Rollback A", "10.00", 5);
+        Long second = book("Rollback B", "10.00", 1);
+        Long client = client("rollback", "100.00");
+        authenticate(PREFIX + "-rollback@example.com");
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> orderService.createOrderFromCart(List.of(cartItem(first, 2), cartItem(second, 3))));
+
+        assertTrue(ex.getMessage().contains("Not enough stock"));
+        assertEquals(5, quantity(first));
+        assertEquals(1, quantity(second));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance(client)));
+        assertEquals(0, orders(client));
+    }
+
+    @Test
+    void createOrderFromCart_InsufficientFunds_ShouldRestoreStock() {
+        Long book = book("Expensive", "80.00", 3);
+        Long client = client("broke", "100.00");
+        authenticate(PREFIX + "-broke@example.com");
+
+        assertThrows(RuntimeException.class, () -> orderService.createOrderFromCart(List.of(cartItem(book, 2))));
+
+        assertEquals(3, quantity(book));
+        assertEquals(0, orders(client));
+    }
+
+    @Test
+    void createOrderFromCart_ParallelCheckoutsOfSameTitle_ShouldNeverOversell() throws Exception {
+        int stock = 50;
+        int customers = 200;
+        Long book = book("Hot Title", "1.00", stock);
+        for (int i = 0; i < customers; i++) {
+            client("c" + i, "10.00");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        int succeeded = 0;
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < customers; i++) {
+                String email = PREFIX + "-c" + i + "@example.com";
+                futures.add(executor.submit(() -> {
+                    authenticate(email);
+                    start.await();
+                    try {
+                        orderService.createOrderFromCart(List.of(cartItem(book, 1)));
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                if (future.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(stock, succeeded);
+        assertEquals(0, quantity(book));
+        assertEquals(stock, itemsSold(book));
+        assertEquals(stock, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM CLIENTS WHERE email LIKE ? AND balance < 10", Integer.class, PREFIX + "%"));
+    }
+
+    @Test
+    void updateOrderStatus_TogglingCancellationDuringCheckouts_ShouldNotRestoreSoldStock() throws Exception {
+        Long book = book("Contended", "1.00", 200);
+        client("first", "100.00");
+        authenticate(PREFIX + "-first@example.com");
+        orderService.createOrderFromCart(List.of(cartItem(book, 5)));
+        SecurityContextHolder.clearContext();
+        Long orderId = jdbcTemplate.queryForObject(
+                "SELECT MAX(order_id) FROM book_items WHERE book_id = ?", Long.class, book);
+        int customers = 60;
+        for (int i = 0; i < customers; i++) {
+            client("t" + i, "10.00");
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        int succeeded = 0;
+        try {
+            Future<?> toggler = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    orderService.updateOrderStatus(orderId, i % 2 == 0 ? OrderStatus.CANCELED : OrderStatus.CONFIRMED);
+                }
+                return null;
+            });
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < customers; i++) {
+                String email = PREFIX + "-t" + i + "@example.com";
+                futures.add(executor.submit(() -> {
+                    authenticate(email);
+                    start.await();
+                    try {
+                        orderService.createOrderFromCart(List.of(cartItem(book, 1)));
+                        return true;
+                    } catch (RuntimeException e) {
+                        return false;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+            toggler.get(60, TimeUnit.SECONDS);
+            for (Future<Boolean> future : futures) {
+                if (future.get(60, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(succeeded > 0);
+        assertEquals(195 - succeeded, quantity(book));
+        assertEquals(5 + succeeded, itemsSold(book));
+        assertEquals(5 + succeeded, bookRepository.findById(book).orElseThrow().getSalesCount());
+    }
+
+    private Long book(String name, String price, int quantity) {
+        Book book = new Book();
+        book.setName(PREFIX + " " + name);
+        book.setGenre("Checkout");
+        book.setAuthor("Tester");
+        book.setPrice(new BigDecimal(price));
+        book.setQuantity(quantity);
+        return bookRepository.save(book).getId();
+    }
+
+    private Long client(String name, String balance) {
+        String email = PREFIX + "-" + name + "@example.com";
+        jdbcTemplate.update("INSERT INTO CLIENTS (BALANCE, EMAIL, NAME, PASSWORD, ROLE, IS_BLOCKED) "
+                + "VALUES (?, ?, ?, 'secret', 'CUSTOMER', false)", new BigDecimal(balance), email, name);
+        return jdbcTemplate.queryForObject("SELECT id FROM CLIENTS WHERE email = ?", Long.class, email);
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.setContext(new SecurityContextImpl(new UsernamePasswordAuthenticationToken(email, null)));
+    }
+
+    private int quantity(Long bookId) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM books WHERE id = ?", Integer.class, bookId);
+    }
+
+    private BigDecimal balance(Long clientId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM CLIENTS WHERE id = ?", BigDecimal.class, clientId);
+    }
+
+    private int itemsSold(Long bookId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM book_items WHERE book_id = ?",
+                Integer.class, bookId);
+    }
+
+    private int orders(Long clientId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE client_id = ?", Integer.class, clientId);
+    }
+
+    private CartItem cartItem(Long bookId, int quantity) {
+        CartItem item = new CartItem();
+        item.setBookId(bookId);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,112 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.service.impl.CoverStorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoverStorageServiceImplTest {
+
+    @TempDir
+    private Path root;
+
+    private CoverStorageService coverStorageService;
+
+    @BeforeEach
+    void setUp() {
+        coverStorageService = new CoverStorageServiceImpl(root, 30, 40, 1024 * 1024, 1_000_000);
+    }
+
+    @Test
+    void storeCover_ShouldWriteContentHashedOriginalAndBoundedThumbnail() throws IOException {
+        byte[] png = image(300, 200, "png");
+
+        String url = coverStorageService.storeCover(new MockMultipartFile("file", "cover.png", "image/png", png));
+
+        assertTrue(url.matches("/covers/[0-9a-f]{64}\\.png"));
+        String fileName = url.substring("/covers/".length());
+        Path original = coverStorageService.resolve(fileName, false).orElseThrow();
+        assertArrayEquals(png, Files.readAllBytes(original));
+
+        BufferedImage thumbnail = ImageIO.read(coverStorageService.resolve(fileName, true).orElseThrow().toFile());
+        assertEquals(30, thumbnail.getWidth());
+        assertEquals(20, thumbnail.getHeight());
+    }
+
+    @Test
+    void storeCover_SameContentTwice_ShouldReuseFile() throws IOException {
+        byte[] jpeg = image(10, 10, "jpg");
+
+        String first = coverStorageService.storeCover(new MockMultipartFile("file", "a.jpg", "image/jpeg", jpeg));
+        String second = coverStorageService.storeCover(new MockMultipartFile("file", "b.jpg", "image/jpeg", jpeg));
+
+        assertEquals(first, second);
+        assertTrue(first.endsWith(".jpg"));
+        try (var files = Files.list(root)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void storeCover_NotAnImage_ShouldThrow() {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", "not an image".getBytes());
+
+        assertThrows(IllegalArgumentException.class, () -> coverStorageService.storeCover(file));
+    }
+
+    @Test
+    void storeCover_TooLarge_ShouldThrow() {
+        MockMultipartFile file = new MockMultipartFile("file", "cover.png", "image/png", new byte[1024 * 1024 + 1]);
+
+        assertThrows(IllegalArgumentException.class, () -> coverStorageService.storeCover(file));
+    }
+
+    @Test
+    void storeCover_HeaderDeclaringHugeDimensions_ShouldThrowWithoutDecoding() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "bomb.png", "image/png", pngHeader(50_000, 50_000));
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> coverStorageService.storeCover(file));
+
+        assertTrue(ex.getMessage().contains("pixels"));
+        try (var files = Files.list(root)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void resolve_InvalidName_ShouldNotEscapeRoot() {
+        assertTrue(coverStorageService.resolve("../bookdb.mv.db", false).isEmpty());
+        assertTrue(coverStorageService.resolve("a".repeat(64) + ".png", false).isEmpty());
+    }
+
+    private byte[] pngHeader(int width, int height) {
+        ByteBuffer header = ByteBuffer.allocate(17).put("IHDR".getBytes())
+                .putInt(width).putInt(height).put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(header.array());
+        return ByteBuffer.allocate(8 + 4 + 17 + 4)
+                .put(new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'})
+                .putInt(13).put(header.array()).putInt((int) crc.getValue())
+                .array();
+    }
+
+    private byte[] image(int width, int height, String format) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
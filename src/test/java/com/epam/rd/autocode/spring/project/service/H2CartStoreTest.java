@@ -0,0 +1,176 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.dto.CartLine;
+import com.epam.rd.autocode.spring.project.model.Cart;
+import com.epam.rd.autocode.spring.project.repo.CartRepository;
+import com.epam.rd.autocode.spring.project.service.impl.CartCodec;
+import com.epam.rd.autocode.spring.project.service.impl.H2CartStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class H2CartStoreTest {
+
+    private static final String OWNER = "client@test.com";
+
+    @Mock
+    private CartRepository cartRepository;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    private H2CartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        cartStore = new H2CartStore(cartRepository, clock, 1024 * 1024, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void load_UnchangedRow_ShouldReadLinesOnceThenServeFromMemory() {
+        LocalDateTime updatedAt = LocalDateTime.now(clock);
+        byte[] stored = CartCodec.encode(List.of(new CartLine(3L, 2)));
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.of(updatedAt));
+        when(cartRepository.findById(OWNER)).thenReturn(Optional.of(new Cart(OWNER, stored, updatedAt)));
+
+        assertEquals(List.of(new CartLine(3L, 2)), cartStore.load(OWNER));
+        assertEquals(List.of(new CartLine(3L, 2)), cartStore.load(OWNER));
+
+        verify(cartRepository, times(1)).findById(OWNER);
+        verify(cartRepository, times(2)).findUpdatedAtByOwnerEmail(OWNER);
+    }
+
+    @Test
+    void load_RowChangedByAnotherNode_ShouldReloadLines() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        LocalDateTime otherWrite = LocalDateTime.now(clock).plusSeconds(5);
+        byte[] stored = CartCodec.encode(List.of(new CartLine(1L, 1), new CartLine(9L, 3)));
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.of(otherWrite));
+        when(cartRepository.findById(OWNER)).thenReturn(Optional.of(new Cart(OWNER, stored, otherWrite)));
+
+        assertEquals(List.of(new CartLine(1L, 1), new CartLine(9L, 3)), cartStore.load(OWNER));
+    }
+
+    @Test
+    void load_RowDeletedByAnotherNode_ShouldReturnEmptyCart() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.empty());
+
+        assertTrue(cartStore.load(OWNER).isEmpty());
+        verify(cartRepository, never()).findById(any());
+    }
+
+    @Test
+    void load_FrequentlyReadEntry_ShouldStillBeReloadedAfterTtl() {
+        MutableClock mutableClock = new MutableClock(clock.instant());
+        cartStore = new H2CartStore(cartRepository, mutableClock, 1024 * 1024, Duration.ofMinutes(30));
+        LocalDateTime updatedAt = LocalDateTime.now(clock);
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.of(updatedAt));
+        when(cartRepository.findById(OWNER)).thenReturn(Optional.of(new Cart(OWNER, new byte[0], updatedAt)));
+
+        for (int i = 0; i < 6; i++) {
+            cartStore.load(OWNER);
+            mutableClock.advance(Duration.ofMinutes(10));
+        }
+
+        verify(cartRepository, times(2)).findById(OWNER);
+    }
+
+    @Test
+    void load_UnknownOwner_ShouldReturnEmptyCart() {
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.empty());
+
+        assertTrue(cartStore.load(OWNER).isEmpty());
+    }
+
+    @Test
+    void save_SameInstant_ShouldStillAdvanceUpdatedAt() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        cartStore.save(OWNER, List.of(new CartLine(1L, 2)));
+
+        ArgumentCaptor<Cart> saved = ArgumentCaptor.forClass(Cart.class);
+        verify(cartRepository, times(2)).save(saved.capture());
+        assertTrue(saved.getAllValues().get(1).getUpdatedAt().isAfter(saved.getAllValues().get(0).getUpdatedAt()));
+    }
+
+    @Test
+    void save_ShouldWriteThroughCompactEncoding() {
+        List<CartLine> lines = List.of(new CartLine(1L, 1), new CartLine(2L, 4));
+
+        cartStore.save(OWNER, lines);
+
+        ArgumentCaptor<Cart> saved = ArgumentCaptor.forClass(Cart.class);
+        verify(cartRepository).save(saved.capture());
+        assertEquals(OWNER, saved.getValue().getOwnerEmail());
+        assertEquals(lines, CartCodec.decode(saved.getValue().getLines()));
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 0), saved.getValue().getUpdatedAt());
+        when(cartRepository.findUpdatedAtByOwnerEmail(OWNER)).thenReturn(Optional.of(saved.getValue().getUpdatedAt()));
+        assertEquals(lines, cartStore.load(OWNER));
+        verify(cartRepository, never()).findById(any());
+    }
+
+    @Test
+    void save_EmptyLines_ShouldDeleteRow() {
+        when(cartRepository.existsById(OWNER)).thenReturn(true);
+
+        cartStore.save(OWNER, List.of());
+
+        verify(cartRepository).deleteById(OWNER);
+        verify(cartRepository, never()).save(any());
+        assertTrue(cartStore.load(OWNER).isEmpty());
+    }
+
+    @Test
+    void clear_ShouldRemoveRowAndCachedLines() {
+        cartStore.save(OWNER, List.of(new CartLine(1L, 1)));
+        when(cartRepository.existsById(OWNER)).thenReturn(true);
+
+        cartStore.clear(OWNER);
+
+        verify(cartRepository).deleteById(OWNER);
+        assertTrue(cartStore.load(OWNER).isEmpty());
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
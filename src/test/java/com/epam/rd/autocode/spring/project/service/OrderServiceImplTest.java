@@ -3,10 +3,16 @@ package com.epam.rd.autocode.spring.project.service;
 import com.epam.rd.autocode.spring.project.dto.BookItemDTO;
 import com.epam.rd.autocode.spring.project.dto.CartItem;
 import com.epam.rd.autocode.spring.project.dto.OrderDTO;
+import com.epam.rd.autocode.spring.project.event.BookChangedEvent;
+import com.epam.rd.autocode.spring.project.event.OrderLine;
+import com.epam.rd.autocode.spring.project.event.SalesRecordedEvent;
 import com.epam.rd.autocode.spring.project.exception.NotFoundException;
+import com.epam.rd.autocode.spring.project.index.BookLookupIndex;
+import com.epam.rd.autocode.spring.project.index.CatalogIndexManager;
 import com.epam.rd.autocode.spring.project.model.*;
 import com.epam.rd.autocode.spring.project.model.enums.OrderStatus;
 import com.epam.rd.autocode.spring.project.repo.*;
+import com.epam.rd.autocode.spring.project.service.impl.CheckoutWriter;
 import com.epam.rd.autocode.spring.project.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,6 +20,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +34,7 @@ import java.time.LocalDateTime;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -39,7 +47,10 @@ class OrderServiceImplTest {
     @Mock private OrderRepository orderRepository;
     @Mock private ClientRepository clientRepository;
     @Mock private BookRepository bookRepository;
-    @Mock private BookItemRepository bookItemRepository;
+    @Mock private CheckoutWriter checkoutWriter;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private BookLookupIndex bookLookupIndex;
+    @Mock private CatalogIndexManager catalogIndexManager;
 
     @Mock private SecurityContext securityContext;
     @Mock private Authentication authentication;
@@ -103,6 +114,31 @@ class OrderServiceImplTest {
         verify(orderRepository).save(any(Order.class));
     }
 
+    @Test
+    void addOrder_IndexReady_ShouldResolveBookByPrimaryKey() {
+        OrderDTO inputDto = new OrderDTO();
+        inputDto.setClientEmail("client@test.com");
+        inputDto.setBookItems(List.of(new BookItemDTO("Java Book", 1)));
+
+        Client client = new Client();
+        client.setEmail("client@test.com");
+        Book book = new Book();
+        book.setId(4L);
+        book.setName("Java Book");
+        book.setPrice(BigDecimal.valueOf(100));
+
+        when(clientRepository.findByEmail("client@test.com")).thenReturn(Optional.of(client));
+        when(catalogIndexManager.isReady()).thenReturn(true);
+        when(bookLookupIndex.findIdByName("Java Book")).thenReturn(Optional.of(4L));
+        when(bookRepository.findById(4L)).thenReturn(Optional.of(book));
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+        OrderDTO result = orderService.addOrder(inputDto);
+
+        assertEquals(BigDecimal.valueOf(100), result.getPrice());
+        verify(bookRepository, never()).findByName(any());
+    }
+
 
 
     @Test
@@ -125,22 +161,25 @@ class OrderServiceImplTest {
         cartItem.setQuantity(2);
 
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+        when(checkoutWriter.decrementStock(Map.of(1L, 2))).thenReturn(List.of());
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+        when(checkoutWriter.debitBalance(client.getId(), BigDecimal.valueOf(200))).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> {
+            Order order = i.getArgument(0);
+            order.setId(5L);
+            return order;
+        });
 
 
         orderService.createOrderFromCart(List.of(cartItem));
 
 
-        assertEquals(BigDecimal.valueOf(800), client.getBalance());
-
-
-        assertEquals(8, book.getQuantity());
-
-        verify(clientRepository).save(client);
-        verify(bookRepository).save(book);
+        verify(checkoutWriter).insertItems(5L, Map.of(1L, 2));
+        verify(clientRepository, never()).save(any());
+        verify(bookRepository, never()).save(any());
         verify(orderRepository).save(any(Order.class));
-        verify(bookItemRepository).save(any(BookItem.class));
+        verify(eventPublisher).publishEvent(BookChangedEvent.saved(book));
+        verify(eventPublisher).publishEvent(any(SalesRecordedEvent.class));
     }
 
     @Test
@@ -162,7 +201,9 @@ class OrderServiceImplTest {
         cartItem.setQuantity(1);
 
         when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(checkoutWriter.decrementStock(Map.of(1L, 1))).thenReturn(List.of());
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
+        when(checkoutWriter.debitBalance(client.getId(), BigDecimal.valueOf(100))).thenReturn(false);
 
 
         RuntimeException ex = assertThrows(RuntimeException.class,
@@ -172,6 +213,7 @@ class OrderServiceImplTest {
 
 
         verify(orderRepository, never()).save(any());
+        verify(checkoutWriter, never()).insertItems(any(), any());
     }
 
     @Test
@@ -185,21 +227,66 @@ class OrderServiceImplTest {
         Book book = new Book();
         book.setId(1L);
         book.setName("Rare Book");
+        book.setPrice(BigDecimal.TEN);
         book.setQuantity(1);
 
         CartItem cartItem = new CartItem();
         cartItem.setBookId(1L);
         cartItem.setQuantity(5);
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
+        when(checkoutWriter.decrementStock(Map.of(1L, 5))).thenReturn(List.of(1L));
+        when(bookRepository.findAllById(List.of(1L))).thenReturn(List.of(book));
 
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> orderService.createOrderFromCart(List.of(cartItem)));
 
-        assertTrue(ex.getMessage().contains("Not enough stock"));
+        assertTrue(ex.getMessage().contains("Not enough stock for book: Rare Book"));
+        verify(checkoutWriter, never()).debitBalance(any(), any());
+        verify(orderRepository, never()).save(any());
+    }
+
+
+    @Test
+    void createOrderFromCart_ShouldLoadAllCartBooksInOneQuery() {
+        String email = "user@test.com";
+        when(authentication.getName()).thenReturn(email);
+        Client client = new Client();
+        client.setBalance(BigDecimal.valueOf(1000));
+        when(clientRepository.findByEmail(email)).thenReturn(Optional.of(client));
+
+        Book first = new Book();
+        first.setId(1L);
+        first.setPrice(BigDecimal.valueOf(10));
+        first.setQuantity(5);
+        first.setSalesCount(0);
+        Book second = new Book();
+        second.setId(2L);
+        second.setPrice(BigDecimal.valueOf(20));
+        second.setQuantity(5);
+        second.setSalesCount(0);
+        when(checkoutWriter.decrementStock(Map.of(1L, 2, 2L, 1))).thenReturn(List.of());
+        when(bookRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(second, first));
+        when(checkoutWriter.debitBalance(client.getId(), BigDecimal.valueOf(40))).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(i -> i.getArgument(0));
+
+        orderService.createOrderFromCart(List.of(cartItem(1L, 2), cartItem(2L, 1)));
+
+        verify(checkoutWriter).insertItems(null, Map.of(1L, 2, 2L, 1));
+        verify(bookRepository).findAllById(List.of(1L, 2L));
+        verify(bookRepository, never()).findById(any());
     }
 
+    @Test
+    void createOrderFromCart_MissingBook_ShouldThrowNotFound() {
+        when(authentication.getName()).thenReturn("user@test.com");
+        when(clientRepository.findByEmail("user@test.com")).thenReturn(Optional.of(new Client()));
+        when(checkoutWriter.decrementStock(Map.of(7L, 1))).thenReturn(List.of(7L));
+        when(bookRepository.findAllById(List.of(7L))).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> orderService.createOrderFromCart(List.of(cartItem(7L, 1))));
+        verify(orderRepository, never()).save(any());
+    }
 
     @Test
     void getAllOrders_FilterByClientEmail() {
@@ -243,6 +330,45 @@ class OrderServiceImplTest {
         verify(orderRepository).save(order);
     }
 
+    @Test
+    void updateOrderStatus_Canceled_ShouldReverseSales() {
+        Order order = orderWithItem(OrderStatus.NEW, 5, 2);
+        Book reloaded = new Book();
+        reloaded.setId(7L);
+        reloaded.setSalesCount(3);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(checkoutWriter.adjustSales(Map.of(7L, -2))).thenReturn(List.of(reloaded));
+
+        orderService.updateOrderStatus(1L, OrderStatus.CANCELED);
+
+        verify(bookRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(BookChangedEvent.saved(reloaded));
+        verify(eventPublisher).publishEvent(new SalesRecordedEvent(1L, order.getOrderDate(),
+                List.of(new OrderLine(7L, "Drama", 2)), true));
+    }
+
+    @Test
+    void updateOrderStatus_Reinstated_ShouldRecordSalesAgain() {
+        Order order = orderWithItem(OrderStatus.CANCELED, 3, 2);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.updateOrderStatus(1L, OrderStatus.CONFIRMED);
+
+        verify(checkoutWriter).adjustSales(Map.of(7L, 2));
+        verify(eventPublisher).publishEvent(new SalesRecordedEvent(1L, order.getOrderDate(),
+                List.of(new OrderLine(7L, "Drama", 2)), false));
+    }
+
+    @Test
+    void updateOrderStatus_CanceledTwice_ShouldNotReverseAgain() {
+        Order order = orderWithItem(OrderStatus.CANCELED, 3, 2);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+
+        orderService.updateOrderStatus(1L, OrderStatus.CANCELED);
+
+        verifyNoInteractions(eventPublisher, checkoutWriter);
+    }
+
     @Test
     void updateOrderStatus_NotFound() {
         when(orderRepository.findById(99L)).thenReturn(Optional.empty());
@@ -252,6 +378,21 @@ class OrderServiceImplTest {
     }
 
 
+    private Order orderWithItem(OrderStatus status, int salesCount, int quantity) {
+        Book book = new Book();
+        book.setId(7L);
+        book.setGenre("Drama");
+        book.setSalesCount(salesCount);
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setStatus(status);
+        order.setOrderDate(LocalDateTime.of(2026, 3, 1, 10, 0));
+        BookItem item = new BookItem(null, quantity, book, order);
+        order.setBookItems(List.of(item));
+        return order;
+    }
+
     private Order createTestOrder() {
         Order order = new Order();
         order.setId(1L);
@@ -273,4 +414,11 @@ class OrderServiceImplTest {
 
         return order;
     }
+
+    private CartItem cartItem(Long bookId, int quantity) {
+        CartItem item = new CartItem();
+        item.setBookId(bookId);
+        item.setQuantity(quantity);
+        return item;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.index.CatalogVersionTracker;
+import com.epam.rd.autocode.spring.project.service.impl.StockReservationServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockReservationServiceImplTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+    private final CatalogVersionTracker catalogVersionTracker = new CatalogVersionTracker();
+    private final StockReservationServiceImpl reservations =
+            new StockReservationServiceImpl(catalogVersionTracker, clock, TTL);
+
+    @Test
+    void reserve_ShouldGrantOnlyWhatOtherCustomersLeft() {
+        assertEquals(3, reservations.reserve("a", 1L, 3, 5));
+        assertEquals(2, reservations.reserve("b", 1L, 4, 5));
+        assertEquals(0, reservations.reserve("c", 1L, 1, 5));
+
+        assertEquals(5, reservations.getReserved(1L));
+    }
+
+    @Test
+    void reserve_SameOwnerAgain_ShouldReplaceHoldInsteadOfAdding() {
+        reservations.reserve("a", 1L, 2, 10);
+
+        assertEquals(4, reservations.reserve("a", 1L, 4, 10));
+        assertEquals(1, reservations.reserve("a", 1L, 1, 10));
+        assertEquals(1, reservations.getReserved(1L));
+    }
+
+    @Test
+    void reserve_StockReducedBelowHolds_ShouldGrantNothing() {
+        reservations.reserve("a", 1L, 3, 3);
+
+        assertEquals(0, reservations.reserve("b", 1L, 1, 2));
+        assertEquals(3, reservations.getReserved(1L));
+    }
+
+    @Test
+    void release_ShouldReturnStockAndBumpBookVersion() {
+        reservations.reserve("a", 1L, 1, 1);
+        long version = catalogVersionTracker.getBookVersion(1L);
+
+        reservations.release("a", 1L);
+
+        assertEquals(0, reservations.getReserved(1L));
+        assertTrue(catalogVersionTracker.getBookVersion(1L) > version);
+        assertEquals(1, reservations.reserve("b", 1L, 1, 1));
+    }
+
+    @Test
+    void release_UnknownHold_ShouldDoNothing() {
+        long version = catalogVersionTracker.getBookVersion(1L);
+
+        reservations.release("a", 1L);
+
+        assertEquals(version, catalogVersionTracker.getBookVersion(1L));
+    }
+
+    @Test
+    void getReserved_AfterTtl_ShouldExpireHold() {
+        reservations.reserve("a", 1L, 2, 2);
+
+        clock.advance(TTL.minusSeconds(5));
+        assertEquals(2, reservations.getReserved(1L));
+
+        clock.advance(Duration.ofSeconds(7));
+        assertEquals(0, reservations.getReserved(1L));
+        assertEquals(2, reservations.reserve("b", 1L, 2, 2));
+    }
+
+    @Test
+    void reserve_Refreshed_ShouldExtendTtl() {
+        reservations.reserve("a", 1L, 1, 1);
+        clock.advance(TTL.minusMinutes(1));
+
+        reservations.reserve("a", 1L, 1, 1);
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(1, reservations.getReserved(1L));
+
+        clock.advance(TTL);
+        assertEquals(0, reservations.getReserved(1L));
+    }
+
+    @Test
+    void reserve_ManyCustomersAtOnce_ShouldNeverOverbook() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String owner = "customer" + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return reservations.reserve(owner, 1L, 1, 50);
+                }));
+            }
+            start.countDown();
+            int granted = 0;
+            for (Future<Integer> future : futures) {
+                granted += future.get(30, TimeUnit.SECONDS);
+            }
+
+            assertEquals(50, granted);
+            assertEquals(50, reservations.getReserved(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.epam.rd.autocode.spring.project.service;
+
+import com.epam.rd.autocode.spring.project.service.impl.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    private final TimerWheel<String> wheel = new TimerWheel<>(0);
+
+    @Test
+    void advance_ShouldExpireOnlyTimersWhoseDeadlinePassed() {
+        schedule("soon", 5_000);
+        schedule("later", 50_000);
+
+        assertTrue(wheel.advance(4_000).isEmpty());
+        assertEquals(List.of("soon"), wheel.advance(6_200));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void advance_LongDeadlines_ShouldCascadeAndNeverFireEarly() {
+        long twoHours = Duration.ofHours(2).toMillis();
+        long threeDays = Duration.ofDays(3).toMillis();
+        schedule("hours", twoHours);
+        schedule("days", threeDays);
+
+        Map<String, Long> firedAt = new HashMap<>();
+        long step = Duration.ofMinutes(1).toMillis();
+        for (long now = step; now <= threeDays + step; now += step) {
+            for (String fired : wheel.advance(now)) {
+                firedAt.put(fired, now);
+            }
+        }
+
+        assertEquals(twoHours, firedAt.get("hours"));
+        assertEquals(threeDays, firedAt.get("days"));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_SingleLargeJump_ShouldExpireEverything() {
+        schedule("a", 3_000);
+        schedule("b", Duration.ofHours(5).toMillis());
+        schedule("c", Duration.ofDays(40).toMillis());
+
+        List<String> expired = wheel.advance(Duration.ofDays(41).toMillis());
+
+        assertEquals(3, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cancel_ShouldPreventExpiry() {
+        TimerWheel.Timer<String> timer = schedule("cancelled", 5_000);
+
+        wheel.cancel(timer);
+
+        assertFalse(timer.isScheduled());
+        assertTrue(wheel.advance(10_000).isEmpty());
+    }
+
+    @Test
+    void schedule_ExistingTimer_ShouldMoveDeadline() {
+        TimerWheel.Timer<String> timer = schedule("moved", 5_000);
+
+        wheel.schedule(timer, 90_000);
+
+        assertTrue(wheel.advance(10_000).isEmpty());
+        assertEquals(List.of("moved"), wheel.advance(90_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedule_DeadlineInThePast_ShouldExpireOnNextTick() {
+        wheel.advance(100_000);
+
+        schedule("late", 50_000);
+
+        assertEquals(List.of("late"), wheel.advance(100_000 + TimerWheel.TICK_MILLIS));
+    }
+
+    @Test
+    void advance_RandomSteps_ShouldFireEachTimerAtFirstAdvancePastDeadline() {
+        Random random = new Random(7);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 1 + (long) (random.nextDouble() * Duration.ofDays(5).toMillis());
+            schedule("t" + i, deadline);
+            deadlines.put("t" + i, deadline);
+        }
+
+        List<String> fired = new ArrayList<>();
+        long previous = 0;
+        long now = 0;
+        while (fired.size() < deadlines.size()) {
+            previous = now;
+            now += 1 + random.nextInt((int) Duration.ofMinutes(30).toMillis());
+            for (String name : wheel.advance(now)) {
+                long deadline = deadlines.get(name);
+                assertTrue(deadline <= now && deadline > previous, name + " fired at the wrong step");
+                fired.add(name);
+            }
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    private TimerWheel.Timer<String> schedule(String value, long deadline) {
+        TimerWheel.Timer<String> timer = new TimerWheel.Timer<>(value);
+        wheel.schedule(timer, deadline);
+        return timer;
+    }
+}